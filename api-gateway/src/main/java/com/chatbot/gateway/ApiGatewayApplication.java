@@ -1,5 +1,6 @@
 package com.chatbot.gateway;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.gateway.route.RouteLocator;
@@ -14,15 +15,22 @@ public class ApiGatewayApplication {
     }
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(
+            RouteLocatorBuilder builder,
+            @Value("${session.service.url:http://session-service:8081}") String sessionServiceUrl,
+            @Value("${session.service.ws-url:ws://session-service:8081}") String sessionServiceWsUrl,
+            @Value("${nlu.service.url:http://nlu-service:8000}") String nluServiceUrl) {
         return builder.routes()
                 .route("session-service", r -> r.path("/api/sessions/**")
-                        .uri("http://session-service:8081"))
+                        .uri(sessionServiceUrl))
                 .route("nlu-service", r -> r.path("/api/nlu/**")
-                        .uri("http://nlu-service:8000"))
+                        .uri(nluServiceUrl))
+                // session-service serves /api/chat itself; text/event-stream responses
+                // from /api/chat/message/stream are flushed per event, not buffered
                 .route("chat", r -> r.path("/api/chat/**")
-                        .filters(f -> f.stripPrefix(1))
-                        .uri("http://session-service:8081"))
+                        .uri(sessionServiceUrl))
+                .route("chat-ws", r -> r.path("/ws/chat")
+                        .uri(sessionServiceWsUrl))
                 .build();
     }
 }
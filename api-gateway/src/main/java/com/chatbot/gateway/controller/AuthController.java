@@ -3,13 +3,16 @@ package com.chatbot.gateway.controller;
 import com.chatbot.gateway.dto.LoginRequest;
 import com.chatbot.gateway.dto.LoginResponse;
 import com.chatbot.gateway.service.AuthService;
+import com.chatbot.gateway.service.HashingCapacityExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 
 @Slf4j
 @RestController
@@ -24,6 +27,7 @@ public class AuthController {
         log.info("Login attempt for user: {}", request.getUsername());
         return authService.authenticate(request.getUsername(), request.getPassword())
                 .map(token -> ResponseEntity.ok(new LoginResponse(token, "Bearer")))
+                .onErrorResume(HashingCapacityExceededException.class, e -> Mono.just(tooManyRequests()))
                 .onErrorReturn(ResponseEntity.status(401).build());
     }
 
@@ -32,6 +36,13 @@ public class AuthController {
         log.info("Registration attempt for user: {}", request.getUsername());
         return authService.register(request.getUsername(), request.getPassword())
                 .then(Mono.just(ResponseEntity.ok("User registered successfully")))
+                .onErrorResume(HashingCapacityExceededException.class, e -> Mono.just(tooManyRequests()))
                 .onErrorReturn(ResponseEntity.status(400).body("Registration failed"));
     }
+
+    private static <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
 }
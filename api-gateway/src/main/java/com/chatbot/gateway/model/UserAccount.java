@@ -0,0 +1,22 @@
+package com.chatbot.gateway.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "users")
+public class UserAccount {
+
+    @Id
+    private String username;
+    private String passwordHash;
+    private String role;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,177 @@
+package com.chatbot.gateway.ratelimit;
+
+import com.chatbot.gateway.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Token-bucket rate limiting for every proxied request. Authenticated requests are
+ * limited per user (the subject verified by {@link JwtAuthenticationFilter}), public
+ * ones per client IP, each with its own table and limits. The gateway's own
+ * {@code /api/auth} endpoints are not routes, so they are covered by the
+ * {@link WebFilter} side of this class and limited per IP.
+ * <p>
+ * Requests that {@link JwtAuthenticationFilter} rejects never reach the route filters,
+ * so the {@link WebFilter} side, which runs before any route filter, charges every
+ * {@code 401} to a separate per-IP table with the IP limits. While that bucket is
+ * exhausted, requests from the IP are rejected before their token is verified.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, WebFilter, Ordered {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final TokenBucketTable userBuckets;
+    private final TokenBucketTable ipBuckets;
+    private final TokenBucketTable authFailureBuckets;
+    private final Counter userRejections;
+    private final Counter ipRejections;
+    private final Counter authFailureRejections;
+    private final Disposable evictor;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.user.capacity:20}") int userCapacity,
+                           @Value("${rate-limit.user.refill-per-second:10}") double userRefillPerSecond,
+                           @Value("${rate-limit.ip.capacity:10}") int ipCapacity,
+                           @Value("${rate-limit.ip.refill-per-second:5}") double ipRefillPerSecond,
+                           @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+                           @Value("${rate-limit.idle-eviction-interval:1m}") Duration idleEvictionInterval) {
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.userBuckets = new TokenBucketTable(userCapacity, userRefillPerSecond);
+        this.ipBuckets = new TokenBucketTable(ipCapacity, ipRefillPerSecond);
+        this.authFailureBuckets = new TokenBucketTable(ipCapacity, ipRefillPerSecond);
+        this.userRejections = meterRegistry.counter("gateway.ratelimit.rejected", "scope", "user");
+        this.ipRejections = meterRegistry.counter("gateway.ratelimit.rejected", "scope", "ip");
+        this.authFailureRejections = meterRegistry.counter("gateway.ratelimit.rejected", "scope", "auth_failure");
+        meterRegistry.gauge("gateway.ratelimit.buckets", Tags.of("scope", "user"), userBuckets, TokenBucketTable::size);
+        meterRegistry.gauge("gateway.ratelimit.buckets", Tags.of("scope", "ip"), ipBuckets, TokenBucketTable::size);
+        meterRegistry.gauge("gateway.ratelimit.buckets", Tags.of("scope", "auth_failure"), authFailureBuckets,
+                TokenBucketTable::size);
+        this.evictor = enabled
+                ? Flux.interval(idleEvictionInterval).subscribe(tick -> evictIdle())
+                : null;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getURI().getPath().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            return limit(exchange, userBuckets.tryAcquire(userId), userRejections, () -> chain.filter(exchange));
+        }
+        return limitByIp(exchange, () -> chain.filter(exchange));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getURI().getPath();
+        if (!enabled || path.startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+        if (path.startsWith(AUTH_PATH)) {
+            return limitByIp(exchange, () -> chain.filter(exchange));
+        }
+
+        String ip = clientIp(exchange.getRequest());
+        if (authFailureBuckets.isExhausted(ip)) {
+            return limit(exchange, authFailureBuckets.tryAcquire(ip), authFailureRejections, () -> chain.filter(exchange));
+        }
+        return chain.filter(exchange)
+                .doOnSuccess(done -> {
+                    if (exchange.getResponse().getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                        authFailureBuckets.tryAcquire(ip);
+                    }
+                });
+    }
+
+    private Mono<Void> limitByIp(ServerWebExchange exchange, Supplier<Mono<Void>> proceed) {
+        return limit(exchange, ipBuckets.tryAcquire(clientIp(exchange.getRequest())), ipRejections, proceed);
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, TokenBucketTable.Decision decision,
+                             Counter rejections, Supplier<Mono<Void>> proceed) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(LIMIT_HEADER, Integer.toString(decision.limit()));
+        headers.set(REMAINING_HEADER, Long.toString(decision.remaining()));
+        if (decision.allowed()) {
+            return proceed.get();
+        }
+
+        rejections.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        return response.setComplete();
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+
+    private void evictIdle() {
+        int evicted = userBuckets.evictIdle() + ipBuckets.evictIdle() + authFailureBuckets.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (evictor != null) {
+            evictor.dispose();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // As a route filter: after JwtAuthenticationFilter, so the verified user id is available
+        return -90;
+    }
+}
@@ -0,0 +1,88 @@
+package com.chatbot.gateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets keyed by client. Each bucket is a single {@link AtomicLong}
+ * holding its theoretical arrival time (the GCRA form of a token bucket): taking a
+ * token is one CAS, and refill needs no background work. A bucket whose arrival time
+ * has passed is full and indistinguishable from a new one, which makes idle eviction
+ * safe at any moment.
+ */
+public class TokenBucketTable {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketTable(int capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    TokenBucketTable(int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = arrival.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                return new Decision(false, capacity, 0, debt - burstNanos);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return new Decision(true, capacity, (burstNanos - debt) / emissionIntervalNanos, 0);
+            }
+        }
+    }
+
+    /**
+     * Tells whether {@link #tryAcquire} would reject {@code key} right now, without taking a token.
+     */
+    public boolean isExhausted(String key) {
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        long current = arrival.get();
+        long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+        return next - now > burstNanos;
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     *
+     * @return the number of buckets removed
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+        return Math.max(before - buckets.size(), 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public record Decision(boolean allowed, int limit, long remaining, long retryAfterNanos) {
+    }
+}
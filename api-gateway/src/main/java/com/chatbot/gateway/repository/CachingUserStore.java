@@ -0,0 +1,47 @@
+package com.chatbot.gateway.repository;
+
+import com.chatbot.gateway.model.UserAccount;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-through cache in front of another store. Concurrent lookups for the same
+ * username share one backend call, and misses are not cached, so an account
+ * registered through another replica is visible on the next login.
+ */
+public class CachingUserStore implements UserStore {
+
+    private final UserStore delegate;
+    private final AsyncCache<String, UserAccount> cache;
+
+    public CachingUserStore(UserStore delegate, MeterRegistry meterRegistry, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    @Override
+    public Mono<UserAccount> findByUsername(String username) {
+        return Mono.fromFuture(() -> cache.get(username, (key, executor) -> delegate.findByUsername(key).toFuture()), true);
+    }
+
+    @Override
+    public Mono<Boolean> create(UserAccount account) {
+        return delegate.create(account)
+                .doOnNext(created -> {
+                    if (created) {
+                        cache.put(account.getUsername(), CompletableFuture.completedFuture(account));
+                    }
+                });
+    }
+}
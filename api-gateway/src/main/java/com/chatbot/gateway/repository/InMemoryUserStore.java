@@ -0,0 +1,26 @@
+package com.chatbot.gateway.repository;
+
+import com.chatbot.gateway.model.UserAccount;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node store for local development and tests; accounts are lost on restart
+ * and not visible to other gateway replicas.
+ */
+public class InMemoryUserStore implements UserStore {
+
+    private final Map<String, UserAccount> users = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<UserAccount> findByUsername(String username) {
+        return Mono.justOrEmpty(users.get(username));
+    }
+
+    @Override
+    public Mono<Boolean> create(UserAccount account) {
+        return Mono.fromSupplier(() -> users.putIfAbsent(account.getUsername(), account) == null);
+    }
+}
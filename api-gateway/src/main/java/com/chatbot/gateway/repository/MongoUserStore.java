@@ -0,0 +1,29 @@
+package com.chatbot.gateway.repository;
+
+import com.chatbot.gateway.model.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shared store for all gateway replicas. The username is the document id, so the
+ * uniqueness check on registration is enforced by Mongo rather than a read-then-write.
+ */
+@RequiredArgsConstructor
+public class MongoUserStore implements UserStore {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<UserAccount> findByUsername(String username) {
+        return mongoTemplate.findById(username, UserAccount.class);
+    }
+
+    @Override
+    public Mono<Boolean> create(UserAccount account) {
+        return mongoTemplate.insert(account)
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+    }
+}
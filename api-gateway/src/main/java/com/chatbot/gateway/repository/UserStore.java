@@ -0,0 +1,15 @@
+package com.chatbot.gateway.repository;
+
+import com.chatbot.gateway.model.UserAccount;
+import reactor.core.publisher.Mono;
+
+public interface UserStore {
+
+    Mono<UserAccount> findByUsername(String username);
+
+    /**
+     * Stores a new account. Emits {@code false} instead of overwriting when the
+     * username is already taken.
+     */
+    Mono<Boolean> create(UserAccount account);
+}
@@ -0,0 +1,32 @@
+package com.chatbot.gateway.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class UserStoreConfig {
+
+    /**
+     * {@code auth.user-store.type} selects the backend: {@code mongo} (shared across
+     * replicas) or {@code memory} (single node). Either way lookups go through a local cache.
+     */
+    @Bean
+    public UserStore userStore(@Value("${auth.user-store.type:mongo}") String type,
+                               @Value("${auth.user-store.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${auth.user-store.cache.ttl:5m}") Duration ttl,
+                               ObjectProvider<ReactiveMongoTemplate> mongoTemplate,
+                               MeterRegistry meterRegistry) {
+        UserStore backend = switch (type) {
+            case "mongo" -> new MongoUserStore(mongoTemplate.getObject());
+            case "memory" -> new InMemoryUserStore();
+            default -> throw new IllegalStateException("Unknown auth.user-store.type: " + type);
+        };
+        return new CachingUserStore(backend, meterRegistry, maximumSize, ttl);
+    }
+}
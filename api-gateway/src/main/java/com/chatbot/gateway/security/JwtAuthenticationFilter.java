@@ -1,13 +1,14 @@
 package com.chatbot.gateway.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -15,16 +16,27 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret:mySecretKey}")
-    private String jwtSecret;
+    /** Exchange attribute holding the verified subject, for filters that run after this one. */
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
+    /**
+     * Browsers cannot set headers on a WebSocket handshake, so clients offer this
+     * subprotocol followed by their JWT instead, e.g. {@code new WebSocket(url, ["bearer", token])}.
+     * The token is removed before the handshake is forwarded; the marker stays so the
+     * backend can select it.
+     */
+    public static final String BEARER_PROTOCOL = "bearer";
+
+    private static final String SEC_WEBSOCKET_PROTOCOL = "Sec-WebSocket-Protocol";
 
     private static final List<String> PUBLIC_PATHS = List.of(
             "/api/auth/login",
@@ -32,6 +44,22 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/actuator/health"
     );
 
+    private final JwtVerifier jwtVerifier;
+    private final Counter failures;
+    private final long failureLogIntervalNanos;
+    private final AtomicLong nextFailureLog = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedFailures = new AtomicLong();
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${jwt.failure-log-interval:10s}") Duration failureLogInterval) {
+        this.jwtVerifier = jwtVerifier;
+        this.failures = Counter.builder("gateway.jwt.failures")
+                .description("Requests rejected because of an invalid or expired JWT")
+                .register(meterRegistry);
+        this.failureLogIntervalNanos = failureLogInterval.toNanos();
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -47,18 +75,29 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             return unauthorized(exchange);
         }
 
+        JwtVerifier.VerifiedToken verified;
         try {
-            Claims claims = validateToken(token);
-            ServerHttpRequest mutatedRequest = request.mutate()
-                    .header("X-User-Id", claims.getSubject())
-                    .header("X-User-Role", claims.get("role", String.class))
-                    .build();
-            
-            return chain.filter(exchange.mutate().request(mutatedRequest).build());
-        } catch (Exception e) {
-            log.error("JWT validation failed", e);
+            verified = jwtVerifier.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logFailure(e);
             return unauthorized(exchange);
         }
+
+        exchange.getAttributes().put(USER_ID_ATTRIBUTE, verified.subject());
+        ServerHttpRequest mutatedRequest = request.mutate()
+                .header("X-User-Id", verified.subject())
+                .header("X-User-Role", verified.role())
+                .headers(headers -> {
+                    List<String> protocols = webSocketProtocols(request);
+                    if (protocols.contains(token)) {
+                        headers.put(SEC_WEBSOCKET_PROTOCOL, protocols.stream()
+                                .filter(protocol -> !protocol.equals(token))
+                                .toList());
+                    }
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 
     private String extractToken(ServerHttpRequest request) {
@@ -66,16 +105,46 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             return authHeader.substring(7);
         }
+        if (isWebSocketUpgrade(request)) {
+            List<String> protocols = webSocketProtocols(request);
+            int marker = protocols.indexOf(BEARER_PROTOCOL);
+            if (marker >= 0 && marker + 1 < protocols.size()) {
+                return protocols.get(marker + 1);
+            }
+        }
         return null;
     }
 
-    private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static boolean isWebSocketUpgrade(ServerHttpRequest request) {
+        return "websocket".equalsIgnoreCase(request.getHeaders().getUpgrade());
+    }
+
+    private static List<String> webSocketProtocols(ServerHttpRequest request) {
+        List<String> values = request.getHeaders().get(SEC_WEBSOCKET_PROTOCOL);
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(protocol -> !protocol.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Invalid tokens are attacker-controlled, so they are counted on every request but
+     * logged at most once per interval, without a stack trace.
+     */
+    private void logFailure(Exception e) {
+        failures.increment();
+        long now = System.nanoTime();
+        long next = nextFailureLog.get();
+        if (now - next >= 0 && nextFailureLog.compareAndSet(next, now + failureLogIntervalNanos)) {
+            log.warn("JWT validation failed: {} ({} similar failures suppressed)",
+                    e.getMessage(), suppressedFailures.getAndSet(0));
+        } else {
+            suppressedFailures.incrementAndGet();
+        }
     }
 
     private Mono<Void> unauthorized(ServerWebExchange exchange) {
@@ -0,0 +1,27 @@
+package com.chatbot.gateway.security;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class JwtKeyConfig {
+
+    /**
+     * HMAC key shared by token issuing and verification. Built once at startup;
+     * secrets shorter than 256 bits are rejected here rather than on the first request.
+     */
+    @Bean
+    public SecretKey jwtSigningKey(@Value("${jwt.secret}") String jwtSecret) {
+        try {
+            return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        } catch (WeakKeyException e) {
+            throw new IllegalStateException("jwt.secret must be at least 32 bytes long", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.chatbot.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies JWTs with a parser built once and remembers tokens that already passed
+ * verification. Entries are keyed by a SHA-256 digest of the token, so raw tokens
+ * are never held in memory, and expire exactly when the token does.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    @Autowired
+    public JwtVerifier(SecretKey jwtSigningKey,
+                       MeterRegistry meterRegistry,
+                       @Value("${jwt.cache.enabled:true}") boolean cacheEnabled,
+                       @Value("${jwt.cache.maximum-size:100000}") long maximumSize) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(jwtSigningKey)
+                .build();
+        this.verified = cacheEnabled ? buildCache(maximumSize) : null;
+        if (verified != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verifications");
+        }
+    }
+
+    public JwtVerifier(SecretKey jwtSigningKey, MeterRegistry meterRegistry, boolean cacheEnabled) {
+        this(jwtSigningKey, meterRegistry, cacheEnabled, 100_000);
+    }
+
+    /**
+     * Returns the verified identity carried by the token.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (verified == null) {
+            return parse(token);
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.isValidAt(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken parsed = parse(token);
+        // Tokens without an expiry are not cached: nothing would ever evict them but size
+        if (parsed.expiresAt() != null) {
+            verified.put(digest, parsed);
+        }
+        return parsed;
+    }
+
+    public CacheStats cacheStats() {
+        return verified != null ? verified.stats() : CacheStats.empty();
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private static Cache<String, VerifiedToken> buildCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record VerifiedToken(String subject, String role, Instant expiresAt) {
+
+        boolean isValidAt(Instant now) {
+            return expiresAt == null || now.isBefore(expiresAt);
+        }
+    }
+}
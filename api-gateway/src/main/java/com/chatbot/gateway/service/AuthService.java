@@ -1,74 +1,94 @@
 package com.chatbot.gateway.service;
 
-import io.jsonwebtoken.Claims;
+import com.chatbot.gateway.model.UserAccount;
+import com.chatbot.gateway.repository.UserStore;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
 @Service
 public class AuthService {
 
-    @Value("${jwt.secret:mySecretKey}")
-    private String jwtSecret;
-
     @Value("${jwt.expiration:3600}")
     private long jwtExpiration;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-    
-    // In-memory user storage for demo purposes
-    private final Map<String, String> users = new HashMap<>();
+    @Value("${auth.demo-user.enabled:true}")
+    private boolean demoUserEnabled;
+
+    private final SecretKey jwtSigningKey;
+    private final PasswordHasher passwordHasher;
+    private final UserStore userStore;
+
+    public AuthService(SecretKey jwtSigningKey, PasswordHasher passwordHasher, UserStore userStore) {
+        this.jwtSigningKey = jwtSigningKey;
+        this.passwordHasher = passwordHasher;
+        this.userStore = userStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedDemoUser() {
+        if (demoUserEnabled) {
+            ensureDemoUser().subscribe(
+                    null,
+                    e -> log.warn("Could not seed demo user: {}", e.getMessage()));
+        }
+    }
 
-    public AuthService() {
-        // Initialize with demo user
-        users.put("demo", passwordEncoder.encode("password123"));
+    Mono<Void> ensureDemoUser() {
+        // Another replica may seed it first; that is fine
+        return register("demo", "password123")
+                .onErrorResume(e -> "User already exists".equals(e.getMessage()), e -> Mono.empty());
     }
 
     public Mono<String> authenticate(String username, String password) {
-        return Mono.fromCallable(() -> {
-            String storedPassword = users.get(username);
-            if (storedPassword != null && passwordEncoder.matches(password, storedPassword)) {
-                return generateToken(username);
-            }
-            throw new RuntimeException("Invalid credentials");
-        });
+        return userStore.findByUsername(username)
+                .switchIfEmpty(Mono.error(new RuntimeException("Invalid credentials")))
+                .flatMap(account -> passwordHasher.matches(password, account.getPasswordHash())
+                        .map(matches -> {
+                            if (!matches) {
+                                throw new RuntimeException("Invalid credentials");
+                            }
+                            return generateToken(account);
+                        }));
     }
 
     public Mono<Void> register(String username, String password) {
-        return Mono.fromRunnable(() -> {
-            if (users.containsKey(username)) {
-                throw new RuntimeException("User already exists");
-            }
-            users.put(username, passwordEncoder.encode(password));
-            log.info("User registered: {}", username);
-        });
+        return userStore.findByUsername(username)
+                .flatMap(existing -> Mono.<String>error(new RuntimeException("User already exists")))
+                .switchIfEmpty(Mono.defer(() -> passwordHasher.encode(password)))
+                .flatMap(encoded -> userStore.create(
+                        new UserAccount(username, encoded, "USER", LocalDateTime.now())))
+                .doOnNext(created -> {
+                    // Lost a race with a concurrent registration, possibly on another replica
+                    if (!created) {
+                        throw new RuntimeException("User already exists");
+                    }
+                    log.info("User registered: {}", username);
+                })
+                .then();
     }
 
-    private String generateToken(String username) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
+    private String generateToken(UserAccount account) {
         Instant now = Instant.now();
         Instant expiry = now.plus(jwtExpiration, ChronoUnit.SECONDS);
 
         return Jwts.builder()
-                .setSubject(username)
-                .claim("role", "USER")
+                .setSubject(account.getUsername())
+                .claim("role", account.getRole())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiry))
-                .signWith(key)
+                .signWith(jwtSigningKey)
                 .compact();
     }
 }
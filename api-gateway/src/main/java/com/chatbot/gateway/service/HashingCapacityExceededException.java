@@ -0,0 +1,12 @@
+package com.chatbot.gateway.service;
+
+/**
+ * Raised when the password-hashing pool is saturated and a login or registration
+ * is turned away instead of being queued.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,9 @@
 package com.chatbot.gateway.controller;
 
 import com.chatbot.gateway.dto.LoginRequest;
+import com.chatbot.gateway.dto.LoginResponse;
 import com.chatbot.gateway.service.AuthService;
+import com.chatbot.gateway.service.HashingCapacityExceededException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -36,11 +38,11 @@ class AuthControllerTest {
                 .thenReturn(Mono.just(token));
 
         // When
-        Mono<ResponseEntity<Object>> result = authController.login(request);
+        Mono<ResponseEntity<LoginResponse>> result = authController.login(request);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(response -> response.getStatusCode() == HttpStatus.OK)
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK)
                 .verifyComplete();
     }
 
@@ -55,11 +57,11 @@ class AuthControllerTest {
                 .thenReturn(Mono.error(new RuntimeException("Invalid credentials")));
 
         // When
-        Mono<ResponseEntity<Object>> result = authController.login(request);
+        Mono<ResponseEntity<LoginResponse>> result = authController.login(request);
 
         // Then
         StepVerifier.create(result)
-                .expectNext(response -> response.getStatusCode() == HttpStatus.UNAUTHORIZED)
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.UNAUTHORIZED)
                 .verifyComplete();
     }
 
@@ -78,10 +80,29 @@ class AuthControllerTest {
 
         // Then
         StepVerifier.create(result)
-                .expectNext(response -> 
+                .expectNextMatches(response -> 
                     response.getStatusCode() == HttpStatus.OK && 
                     response.getBody().equals("User registered successfully")
                 )
                 .verifyComplete();
     }
+
+    @Test
+    void testLoginRejectedWhenHashingSaturated() {
+        // Given
+        LoginRequest request = new LoginRequest();
+        request.setUsername("demo");
+        request.setPassword("password123");
+
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(Mono.error(new HashingCapacityExceededException("full", null)));
+
+        // When
+        Mono<ResponseEntity<LoginResponse>> result = authController.login(request);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+                .verifyComplete();
+    }
 }
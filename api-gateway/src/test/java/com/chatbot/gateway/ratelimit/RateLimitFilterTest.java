@@ -0,0 +1,111 @@
+package com.chatbot.gateway.ratelimit;
+
+import com.chatbot.gateway.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private final WebFilterChain webChain = exchange -> Mono.empty();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(meterRegistry, true, 2, 1, 1, 1, false, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.shutdown();
+    }
+
+    @Test
+    void testLimitsAuthenticatedUsersSeparately() {
+        // Given
+        MockServerWebExchange first = userExchange("alice");
+        MockServerWebExchange second = userExchange("alice");
+        MockServerWebExchange third = userExchange("alice");
+        MockServerWebExchange other = userExchange("bob");
+
+        // When
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(third, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(other, chain)).verifyComplete();
+
+        // Then
+        assertEquals("2", first.getResponse().getHeaders().getFirst(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", first.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+        assertNull(second.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals("1", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(other.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    void testLimitsAuthEndpointsByIp() {
+        // Given
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login"));
+        MockServerWebExchange routed = MockServerWebExchange.from(MockServerHttpRequest.post("/api/chat/message"));
+
+        // When
+        StepVerifier.create(filter.filter(first, webChain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, webChain)).verifyComplete();
+        StepVerifier.create(filter.filter(routed, webChain)).verifyComplete();
+
+        // Then
+        assertNull(first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertNull(routed.getResponse().getHeaders().getFirst(RateLimitFilter.LIMIT_HEADER));
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void testRejectedAuthenticationIsChargedToClientIp() {
+        // Given
+        AtomicInteger verified = new AtomicInteger();
+        WebFilterChain rejectingChain = exchange -> {
+            verified.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        };
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.post("/api/chat/message"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.post("/api/chat/message"));
+
+        // When
+        StepVerifier.create(filter.filter(first, rejectingChain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, rejectingChain)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals(1, verified.get());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected").tag("scope", "auth_failure").counter().count());
+    }
+
+    private static MockServerWebExchange userExchange(String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/chat/message"));
+        exchange.getAttributes().put(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return exchange;
+    }
+}
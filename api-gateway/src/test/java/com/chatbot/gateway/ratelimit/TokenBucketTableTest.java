@@ -0,0 +1,75 @@
+package com.chatbot.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void testAllowsBurstThenRejects() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(3, 1, clock::get);
+
+        // When & Then
+        assertEquals(2, table.tryAcquire("alice").remaining());
+        assertEquals(1, table.tryAcquire("alice").remaining());
+        assertEquals(0, table.tryAcquire("alice").remaining());
+        TokenBucketTable.Decision rejected = table.tryAcquire("alice");
+        assertFalse(rejected.allowed());
+        assertEquals(1_000_000_000L, rejected.retryAfterNanos());
+        assertTrue(table.tryAcquire("bob").allowed());
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(2, 4, clock::get);
+        table.tryAcquire("alice");
+        table.tryAcquire("alice");
+        assertFalse(table.tryAcquire("alice").allowed());
+
+        // When
+        clock.addAndGet(250_000_000L);
+
+        // Then
+        assertTrue(table.tryAcquire("alice").allowed());
+        assertFalse(table.tryAcquire("alice").allowed());
+    }
+
+    @Test
+    void testReportsExhaustionWithoutTakingTokens() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(2, 1, clock::get);
+        table.tryAcquire("alice");
+
+        // When & Then
+        assertFalse(table.isExhausted("alice"));
+        assertFalse(table.isExhausted("alice"));
+        table.tryAcquire("alice");
+        assertTrue(table.isExhausted("alice"));
+        assertFalse(table.isExhausted("bob"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void testEvictsOnlyRefilledBuckets() {
+        // Given
+        TokenBucketTable table = new TokenBucketTable(2, 1, clock::get);
+        table.tryAcquire("idle");
+        clock.addAndGet(500_000_000L);
+        table.tryAcquire("busy");
+        clock.addAndGet(600_000_000L);
+
+        // When
+        int evicted = table.evictIdle();
+
+        // Then
+        assertEquals(1, evicted);
+        assertEquals(1, table.size());
+    }
+}
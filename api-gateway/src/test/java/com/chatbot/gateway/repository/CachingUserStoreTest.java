@@ -0,0 +1,82 @@
+package com.chatbot.gateway.repository;
+
+import com.chatbot.gateway.model.UserAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserStoreTest {
+
+    @Mock
+    private UserStore backend;
+
+    private CachingUserStore userStore;
+
+    @BeforeEach
+    void setUp() {
+        userStore = new CachingUserStore(backend, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testHitsAreServedFromCache() {
+        // Given
+        UserAccount account = new UserAccount("demo", "hash", "USER", LocalDateTime.now());
+        when(backend.findByUsername("demo")).thenReturn(Mono.just(account));
+
+        // When
+        userStore.findByUsername("demo").block();
+
+        // Then
+        StepVerifier.create(userStore.findByUsername("demo"))
+                .expectNext(account)
+                .verifyComplete();
+        verify(backend, times(1)).findByUsername("demo");
+    }
+
+    @Test
+    void testMissesAreNotCached() {
+        // Given
+        UserAccount account = new UserAccount("alice", "hash", "USER", LocalDateTime.now());
+        when(backend.findByUsername("alice"))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(account));
+
+        // When
+        StepVerifier.create(userStore.findByUsername("alice")).verifyComplete();
+
+        // Then: registered meanwhile through another replica
+        StepVerifier.create(userStore.findByUsername("alice"))
+                .expectNext(account)
+                .verifyComplete();
+    }
+
+    @Test
+    void testCreatedAccountIsCached() {
+        // Given
+        UserAccount account = new UserAccount("bob", "hash", "USER", LocalDateTime.now());
+        when(backend.create(any())).thenReturn(Mono.just(true));
+
+        // When
+        StepVerifier.create(userStore.create(account))
+                .expectNext(true)
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(userStore.findByUsername("bob"))
+                .expectNext(account)
+                .verifyComplete();
+        verify(backend, never()).findByUsername("bob");
+    }
+}
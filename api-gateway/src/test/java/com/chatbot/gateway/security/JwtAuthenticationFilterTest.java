@@ -0,0 +1,89 @@
+package com.chatbot.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final SecretKey key = Keys.hmacShaKeyFor(
+            "test-secret-key-with-at-least-256-bits!!".getBytes(StandardCharsets.UTF_8));
+    private final AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange.getRequest());
+        return Mono.empty();
+    };
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(new JwtVerifier(key, meterRegistry, true), meterRegistry, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testWebSocketTokenFromSubprotocolIsNotForwarded() {
+        // Given
+        String token = token();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ws/chat")
+                .header(HttpHeaders.UPGRADE, "websocket")
+                .header("Sec-WebSocket-Protocol", JwtAuthenticationFilter.BEARER_PROTOCOL + ", " + token));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertNull(exchange.getResponse().getStatusCode());
+        HttpHeaders headers = forwarded.get().getHeaders();
+        assertEquals("demo", headers.getFirst("X-User-Id"));
+        assertEquals(List.of(JwtAuthenticationFilter.BEARER_PROTOCOL), headers.get("Sec-WebSocket-Protocol"));
+    }
+
+    @Test
+    void testWebSocketTokenInQueryIsRejected() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ws/chat")
+                .queryParam("access_token", token())
+                .header(HttpHeaders.UPGRADE, "websocket"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    private String token() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject("demo")
+                .claim("role", "USER")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                .signWith(key)
+                .compact();
+    }
+}
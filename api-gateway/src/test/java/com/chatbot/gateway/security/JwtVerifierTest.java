@@ -0,0 +1,92 @@
+package com.chatbot.gateway.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private final SecretKey key = Keys.hmacShaKeyFor(
+            "test-secret-key-with-at-least-256-bits!!".getBytes(StandardCharsets.UTF_8));
+
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new JwtVerifier(key, new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    void testVerifiedTokenIsServedFromCache() {
+        // Given
+        String token = token(key, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        JwtVerifier.VerifiedToken first = verifier.verify(token);
+        JwtVerifier.VerifiedToken second = verifier.verify(token);
+
+        // Then
+        assertEquals("demo", first.subject());
+        assertEquals("USER", first.role());
+        assertSame(first, second);
+        assertEquals(1, verifier.cacheStats().hitCount());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        // Given
+        SecretKey otherKey = Keys.hmacShaKeyFor(
+                "another-secret-key-with-at-least-256-bits".getBytes(StandardCharsets.UTF_8));
+        String forged = token(otherKey, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When & Then
+        assertThrows(SignatureException.class, () -> verifier.verify(forged));
+        assertThrows(SignatureException.class, () -> verifier.verify(forged));
+        assertEquals(0, verifier.cacheStats().hitCount());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        // Given
+        String expired = token(key, Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        // When & Then
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(expired));
+    }
+
+    @Test
+    void testVerifiesWithoutCache() {
+        // Given
+        JwtVerifier uncached = new JwtVerifier(key, new SimpleMeterRegistry(), false);
+        String token = token(key, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        JwtVerifier.VerifiedToken result = uncached.verify(token);
+
+        // Then
+        assertEquals("demo", result.subject());
+        assertEquals(0, uncached.cacheStats().requestCount());
+    }
+
+    private static String token(SecretKey signingKey, Instant expiry) {
+        return Jwts.builder()
+                .setSubject("demo")
+                .claim("role", "USER")
+                .setIssuedAt(Date.from(expiry.minus(2, ChronoUnit.HOURS)))
+                .setExpiration(Date.from(expiry))
+                .signWith(signingKey)
+                .compact();
+    }
+}
@@ -1,12 +1,18 @@
 package com.chatbot.gateway.service;
 
+import com.chatbot.gateway.repository.InMemoryUserStore;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -16,7 +22,12 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService();
+        authService = new AuthService(Keys.hmacShaKeyFor(
+                "test-secret-key-with-at-least-256-bits!!".getBytes(StandardCharsets.UTF_8)),
+                new PasswordHasher(new SimpleMeterRegistry(), 2, 16, 10),
+                new InMemoryUserStore());
+        ReflectionTestUtils.setField(authService, "jwtExpiration", 3600L);
+        authService.ensureDemoUser().block();
     }
 
     @Test
@@ -30,7 +41,7 @@ class AuthServiceTest {
 
         // Then
         StepVerifier.create(result)
-                .expectNext(token -> token != null && !token.isEmpty())
+                .expectNextMatches(token -> token != null && !token.isEmpty())
                 .verifyComplete();
     }
 
@@ -65,7 +76,7 @@ class AuthServiceTest {
         // Verify user can now authenticate
         Mono<String> authResult = authService.authenticate(username, password);
         StepVerifier.create(authResult)
-                .expectNext(token -> token != null)
+                .expectNextMatches(token -> token != null)
                 .verifyComplete();
     }
 
@@ -0,0 +1,81 @@
+package com.chatbot.gateway.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatchOffTheCallerThread() {
+        // Given
+        String caller = Thread.currentThread().getName();
+
+        // When
+        String encoded = passwordHasher.encode("password123").block(Duration.ofSeconds(5));
+
+        // Then
+        StepVerifier.create(passwordHasher.matches("password123", encoded))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(passwordHasher.submit(meterRegistry.timer("test"), () -> Thread.currentThread().getName()))
+                .expectNextMatches(worker -> !worker.equals(caller) && worker.startsWith("password-hashing-"))
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("auth.hashing.duration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws InterruptedException {
+        // Given: the only worker is busy and the single queue slot is taken
+        Timer timer = meterRegistry.timer("test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher.submit(timer, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "busy";
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHasher.submit(timer, () -> "queued").subscribe();
+
+        // When & Then
+        StepVerifier.create(passwordHasher.encode("password123"))
+                .expectError(HashingCapacityExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.hashing.queue").gauge().value());
+
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
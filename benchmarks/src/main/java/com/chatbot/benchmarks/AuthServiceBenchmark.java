@@ -0,0 +1,65 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.gateway.repository.InMemoryUserStore;
+import com.chatbot.gateway.service.AuthService;
+import com.chatbot.gateway.service.PasswordHasher;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A successful login through {@link AuthService#authenticate}: user lookup, BCrypt
+ * verification on the hashing pool and token signing. BCrypt dominates, so the
+ * cost factor is a parameter; production uses 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    @Param({"4", "10"})
+    private int strength;
+
+    private PasswordHasher passwordHasher;
+    private AuthService authService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordHasher = new PasswordHasher(new SimpleMeterRegistry(),
+                Runtime.getRuntime().availableProcessors(), 64, strength);
+        authService = new AuthService(
+                Keys.hmacShaKeyFor("benchmark-secret-key-of-at-least-32-bytes".getBytes(StandardCharsets.UTF_8)),
+                passwordHasher, new InMemoryUserStore());
+        ReflectionTestUtils.setField(authService, "jwtExpiration", 3600L);
+        authService.register("demo", "password123").block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public String authenticate() {
+        return authService.authenticate("demo", "password123").block();
+    }
+}
@@ -0,0 +1,105 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.client.LocalIntentClassifier;
+import com.chatbot.session.client.NluBatcher;
+import com.chatbot.session.client.NluClient;
+import com.chatbot.session.client.NluClientProperties;
+import com.chatbot.session.client.NluResultCache;
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.repository.ArchivedSessionRepository;
+import com.chatbot.session.repository.SessionRepository;
+import com.chatbot.session.service.ChatIdempotencyStore;
+import com.chatbot.session.service.ChatService;
+import com.chatbot.session.service.MessageWriteBehind;
+import com.chatbot.session.service.SessionArchiveCodec;
+import com.chatbot.session.service.SessionCache;
+import com.chatbot.session.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One REST chat turn through {@link ChatService#processMessage} with Mongo stubbed
+ * out, so the numbers cover our own code: session append, classification routing,
+ * response assembly and the bot-message write. The NLU service is a local
+ * {@link NluServer} that answers without delay, reached through the real
+ * {@link NluClient}, so the remote path pays for HTTP, JSON and the loopback socket.
+ *
+ * <ul>
+ *   <li>{@code local}: the in-process classifier is confident and answers</li>
+ *   <li>{@code cached}: falls through to the NLU result cache, which hits</li>
+ *   <li>{@code remote}: cache disabled, every turn makes the HTTP call to the NLU service</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatServiceBenchmark {
+
+    @Param({"local", "cached", "remote"})
+    private String nluPath;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    private ChatService chatService;
+    private MessageWriteBehind messageWriteBehind;
+    private NluServer nluServer;
+    private ChatRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SessionRepository sessionRepository = Stubs.sessionRepository();
+        SessionCache sessionCache = new SessionCache(meterRegistry, 10_000, Duration.ofMinutes(10));
+        messageWriteBehind = new MessageWriteBehind(sessionRepository, sessionCache, meterRegistry,
+                writeBehind, 100, Duration.ofMillis(50), 10_000, Duration.ofSeconds(10));
+        SessionService sessionService = new SessionService(sessionRepository, sessionCache, messageWriteBehind,
+                Stubs.unsupported(ArchivedSessionRepository.class),
+                new SessionArchiveCodec(new ObjectMapper().findAndRegisterModules(), 100));
+
+        nluServer = new NluServer(Duration.ZERO, Duration.ZERO);
+        NluClient nluClient = new NluClient(WebClient.builder(), new NluClientProperties(), meterRegistry, nluServer.url());
+        NluBatcher nluBatcher = new NluBatcher(nluClient, meterRegistry, false, Duration.ofMillis(5), 32, 16);
+        NluResultCache nluResultCache = new NluResultCache(meterRegistry, !"remote".equals(nluPath),
+                10_000, Duration.ofMinutes(10), NluResultCache.Normalization.CASE_INSENSITIVE);
+        LocalIntentClassifier localIntentClassifier = new LocalIntentClassifier(true, 0.8);
+        chatService = new ChatService(sessionService, nluBatcher, nluResultCache, localIntentClassifier,
+                meterRegistry, new ChatIdempotencyStore(meterRegistry, true, 10_000, Duration.ofMinutes(10)));
+
+        request = new ChatRequest();
+        request.setSessionId("session-1");
+        request.setMessage("local".equals(nluPath) ? "hello there" : "track my order 12345");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        messageWriteBehind.shutdown();
+        nluServer.close();
+    }
+
+    @Benchmark
+    public ChatResponse processMessage() {
+        return chatService.processMessage(request, "user-1").block();
+    }
+}
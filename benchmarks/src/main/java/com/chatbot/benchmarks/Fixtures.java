@@ -0,0 +1,34 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+
+import java.util.Map;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * A session whose history alternates user and bot turns of realistic length.
+     */
+    static Session session(int historySize) {
+        Session session = new Session("session-1", "user-1");
+        for (int i = 0; i < historySize; i++) {
+            ConversationMessage message;
+            if (i % 2 == 0) {
+                message = new ConversationMessage("Can you tell me where my order " + i + " is?",
+                        ConversationMessage.MessageType.USER, "user-1");
+            } else {
+                message = new ConversationMessage("I'm not sure I understand. Could you please rephrase that?",
+                        ConversationMessage.MessageType.BOT, "bot");
+                message.setIntent("question");
+                message.setConfidence(0.72);
+                message.setEntities(Map.of("number", String.valueOf(i)));
+            }
+            session.addMessage(message);
+        }
+        return session;
+    }
+}
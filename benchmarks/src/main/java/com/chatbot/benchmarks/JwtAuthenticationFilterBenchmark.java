@@ -0,0 +1,100 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.gateway.security.JwtAuthenticationFilter;
+import com.chatbot.gateway.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthenticationFilter#filter} on an authenticated request, with and
+ * without the verified-token cache. Building the exchange is part of every
+ * operation; {@link #exchangeOnly} measures that share on its own. The codec,
+ * session and locale collaborators are shared across exchanges, as they are in
+ * the server, so they do not drown out the filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private GatewayFilterChain chain;
+    private String authorization;
+    private ServerCodecConfigurer codecConfigurer;
+    private DefaultWebSessionManager sessionManager;
+    private AcceptHeaderLocaleContextResolver localeContextResolver;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor("benchmark-secret-key-of-at-least-32-bytes".getBytes(StandardCharsets.UTF_8));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(new JwtVerifier(key, meterRegistry, cacheEnabled),
+                meterRegistry, Duration.ofSeconds(10));
+        chain = exchange -> Mono.empty();
+        codecConfigurer = ServerCodecConfigurer.create();
+        sessionManager = new DefaultWebSessionManager();
+        localeContextResolver = new AcceptHeaderLocaleContextResolver();
+
+        Instant now = Instant.now();
+        authorization = "Bearer " + Jwts.builder()
+                .setSubject("user-1")
+                .claim("role", "USER")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public Void filter() {
+        return filter.filter(exchange(), chain).block();
+    }
+
+    @Benchmark
+    public ServerWebExchange exchangeOnly() {
+        return exchange();
+    }
+
+    private ServerWebExchange exchange() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/chat/message")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .build();
+        return new DefaultServerWebExchange(request, new MockServerHttpResponse(),
+                sessionManager, codecConfigurer, localeContextResolver);
+    }
+}
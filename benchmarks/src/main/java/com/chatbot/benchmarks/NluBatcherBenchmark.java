@@ -0,0 +1,73 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.client.NluBatcher;
+import com.chatbot.session.client.NluClient;
+import com.chatbot.session.client.NluClientProperties;
+import com.chatbot.session.dto.NluResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@value #CONCURRENT_CALLS} concurrent {@link NluBatcher#classify} calls against an
+ * {@link NluServer} whose every request costs a fixed 1ms plus 20µs per message,
+ * with batching off (one HTTP call per message) and on (window 5ms, up to 32
+ * messages per call). Reported per classified message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NluBatcherBenchmark {
+
+    private static final int CONCURRENT_CALLS = 64;
+
+    @Param({"false", "true"})
+    private boolean batching;
+
+    private NluServer nluServer;
+    private NluBatcher nluBatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        nluServer = new NluServer(Duration.ofMillis(1), Duration.ofNanos(20_000));
+        NluClient nluClient = new NluClient(WebClient.builder(), new NluClientProperties(), meterRegistry, nluServer.url());
+        nluBatcher = new NluBatcher(nluClient, meterRegistry, batching, Duration.ofMillis(5), 32, 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        nluBatcher.shutdown();
+        nluServer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CALLS)
+    public List<NluResponse> classify() {
+        return Flux.range(0, CONCURRENT_CALLS)
+                .flatMap(i -> nluBatcher.classify("track my order " + i), CONCURRENT_CALLS)
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,108 @@
+package com.chatbot.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A local HTTP stand-in for the NLU service that {@code NluClient} talks to over a
+ * real socket, with JSON on the wire. It works like a single worker: requests are
+ * served one after the other, and each costs {@code perCall} plus {@code perMessage}
+ * for every message it classifies. The cost is simulated by delaying the answer, so
+ * it holds no benchmark thread.
+ */
+final class NluServer implements AutoCloseable {
+
+    private static final Map<String, Object> RESULT = Map.of(
+            "intent", "order_status", "confidence", 0.93, "entities", Map.of("number", "12345"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long perCallNanos;
+    private final long perMessageNanos;
+    private final AtomicLong busyUntil = new AtomicLong(System.nanoTime());
+    private final DisposableServer server;
+
+    NluServer(Duration perCall, Duration perMessage) {
+        this.perCallNanos = perCall.toNanos();
+        this.perMessageNanos = perMessage.toNanos();
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .post("/api/nlu/classify", (request, response) -> respond(request, response,
+                                body -> 1, body -> RESULT))
+                        .post("/api/nlu/classify/batch", (request, response) -> respond(request, response,
+                                body -> body.path("messages").size(),
+                                body -> {
+                                    List<Map<String, Object>> results = new ArrayList<>();
+                                    body.path("messages").forEach(message -> results.add(RESULT));
+                                    return Map.of("results", results);
+                                })))
+                .bindNow();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response,
+                               Function<JsonNode, Integer> messages, Function<JsonNode, Object> handler) {
+        return request.receive().aggregate().asByteArray()
+                .map(this::read)
+                .flatMap(body -> {
+                    Mono<byte[]> json = Mono.just(write(handler.apply(body)));
+                    long delay = queue(perCallNanos + perMessageNanos * messages.apply(body));
+                    return delay > 0 ? json.delayElement(Duration.ofNanos(delay)) : json;
+                })
+                .flatMap(json -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(json))
+                        .then());
+    }
+
+    /**
+     * Books {@code costNanos} of worker time behind the requests already queued.
+     *
+     * @return how long until this request's answer is ready
+     */
+    private long queue(long costNanos) {
+        long now = System.nanoTime();
+        long done = busyUntil.accumulateAndGet(now, (busy, start) -> Math.max(busy, start) + costNanos);
+        return done - now;
+    }
+
+    private JsonNode read(byte[] bytes) {
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,64 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.model.Session;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies on the chat path, using an
+ * {@link ObjectMapper} configured like the one Spring Boot gives WebFlux.
+ * {@code historySize} shows how the cost of returning a whole {@link Session}
+ * grows with its history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int historySize;
+
+    private ObjectMapper objectMapper;
+    private Session session;
+    private ChatResponse chatResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        session = Fixtures.session(historySize);
+        chatResponse = new ChatResponse("session-1", "message-1", "Hello! How can I help you today?",
+                "greeting", 0.95, Map.of(), LocalDateTime.now(),
+                List.of("What can you do?", "Help me with something", "Tell me about yourself"));
+    }
+
+    @Benchmark
+    public byte[] serializeSession() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(session);
+    }
+
+    @Benchmark
+    public byte[] serializeChatResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(chatResponse);
+    }
+}
@@ -0,0 +1,53 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Session#addMessage} at a fixed history length. Each operation appends one
+ * message and drops it again, so the history stays at {@code historySize} for the
+ * whole run instead of growing with the iteration count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int historySize;
+
+    private Session session;
+    private ConversationMessage message;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        session = Fixtures.session(historySize);
+        message = new ConversationMessage("one more message", ConversationMessage.MessageType.USER, "user-1");
+    }
+
+    @Benchmark
+    public Session addMessage() {
+        session.addMessage(message);
+        List<ConversationMessage> messages = session.getMessages();
+        messages.remove(messages.size() - 1);
+        return session;
+    }
+}
@@ -0,0 +1,56 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.session.repository.SessionRepository;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * In-memory stand-ins for the Mongo repositories. Only the calls on the measured
+ * paths are answered; anything else fails loudly so a benchmark cannot silently
+ * measure a code path it did not mean to.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * A session repository on which every append lands in an existing session.
+     */
+    static SessionRepository sessionRepository() {
+        return proxy(SessionRepository.class, (method, args) -> switch (method) {
+            case "appendMessage" -> Mono.just(true);
+            case "appendMessages" -> Mono.just(((List<?>) args[0]).size());
+            default -> null;
+        });
+    }
+
+    static <T> T unsupported(Class<T> type) {
+        return proxy(type, (method, args) -> null);
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Answer answer) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Object result = answer.answer(method.getName(), args);
+            if (result == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+}
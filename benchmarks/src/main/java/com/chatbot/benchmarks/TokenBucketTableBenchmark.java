@@ -0,0 +1,55 @@
+package com.chatbot.benchmarks;
+
+import com.chatbot.gateway.ratelimit.TokenBucketTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-request cost the gateway rate limiter adds, from four threads. With one key
+ * every thread contends on the same bucket; with many keys they mostly do not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TokenBucketTableBenchmark {
+
+    @Param({"1", "10000"})
+    private int keyCount;
+
+    private TokenBucketTable table;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        table = new TokenBucketTable(1_000, 1_000_000);
+        keys = IntStream.range(0, keyCount).mapToObj(i -> "user:" + i).toArray(String[]::new);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public TokenBucketTable.Decision tryAcquire(Cursor cursor) {
+        String key = keys[cursor.next++ % keys.length];
+        return table.tryAcquire(key);
+    }
+}
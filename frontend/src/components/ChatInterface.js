@@ -171,6 +171,28 @@ const ChatInterface = () => {
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   };
 
+  // Collects the streamed events of one turn into the same shape sendMessage returns.
+  // Falls back to REST only if the stream failed before the message was stored.
+  const streamReply = async (message) => {
+    const reply = {};
+    try {
+      await chatService.streamMessage(message, sessionId, (type, data) => {
+        if (type === 'ack') {
+          setSessionId(data.sessionId);
+        }
+        Object.assign(reply, data);
+      });
+    } catch (error) {
+      if (reply.sessionId) throw error;
+      console.warn('Streaming failed, falling back to REST:', error);
+      return chatService.sendMessage(message, sessionId);
+    }
+    if (reply.response === undefined) {
+      throw new Error('Stream ended without a response');
+    }
+    return reply;
+  };
+
   const handleSendMessage = async () => {
     if (!inputMessage.trim() || isLoading) return;
 
@@ -187,8 +209,8 @@ const ChatInterface = () => {
     setSuggestions([]);
 
     try {
-      const response = isAuthenticated 
-        ? await chatService.sendMessage(inputMessage, sessionId)
+      const response = isAuthenticated
+        ? await streamReply(inputMessage)
         : await chatService.sendMessagePublic(inputMessage, sessionId);
 
       const botMessage = {
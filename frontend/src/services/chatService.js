@@ -19,14 +19,57 @@ api.interceptors.request.use((config) => {
 });
 
 export const chatService = {
-  async sendMessage(message, sessionId = null) {
+  // Pass the same idempotencyKey when retrying a message so it is only processed once.
+  async sendMessage(message, sessionId = null, idempotencyKey = null) {
     const response = await api.post('/api/chat/message', {
       message,
       sessionId,
+      idempotencyKey,
     });
     return response.data;
   },
 
+  // Streams a chat turn as Server-Sent Events and calls onEvent(type, data)
+  // for each "ack", "intent" and "response" event as soon as it arrives.
+  async streamMessage(message, sessionId = null, onEvent = () => {}) {
+    const token = localStorage.getItem('token');
+    const response = await fetch(`${API_BASE_URL}/api/chat/message/stream`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        Accept: 'text/event-stream',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify({ message, sessionId }),
+    });
+    if (!response.ok) {
+      throw new Error(`Streaming request failed with status ${response.status}`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const frame = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let type = 'message';
+        const data = [];
+        frame.split('\n').forEach((line) => {
+          if (line.startsWith('event:')) type = line.slice(6).trim();
+          else if (line.startsWith('data:')) data.push(line.slice(5));
+        });
+        onEvent(type, data.length ? JSON.parse(data.join('\n')) : null);
+      }
+    }
+  },
+
   async sendMessagePublic(message, sessionId = null) {
     const response = await api.post('/api/chat/message/public', {
       message,
@@ -40,13 +83,19 @@ export const chatService = {
     return response.data;
   },
 
-  async getSession(sessionId) {
-    const response = await api.get(`/api/sessions/${sessionId}`);
+  // Returns the session with its latest messages; pass `olderCursor` as `before` to scroll back
+  async getSession(sessionId, { before, limit = 50 } = {}) {
+    const response = await api.get(`/api/sessions/${sessionId}`, {
+      params: { before, limit },
+    });
     return response.data;
   },
 
-  async getUserSessions() {
-    const response = await api.get('/api/sessions');
+  // Returns one page of session summaries; pass the last entry's cursor as `before` for the next page
+  async getUserSessions({ before, limit = 20 } = {}) {
+    const response = await api.get('/api/sessions', {
+      params: { before, limit },
+    });
     return response.data;
   },
 };
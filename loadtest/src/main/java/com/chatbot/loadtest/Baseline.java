@@ -0,0 +1,93 @@
+package com.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A saved {@link LoadReport} that later runs are held against. An operation regresses
+ * when its throughput drops, or its p50/p99/p999 latency grows, by more than the
+ * tolerance, or when its error rate rises by more than one percentage point.
+ * Latency growth below {@link #LATENCY_SLACK_MS} is ignored as noise. A service's
+ * event loops regress when their utilization grows by more than the tolerance and
+ * by more than {@link #UTILIZATION_SLACK}.
+ */
+final class Baseline {
+
+    static final double LATENCY_SLACK_MS = 1.0;
+    static final double UTILIZATION_SLACK = 0.05;
+    private static final double ERROR_RATE_SLACK = 0.01;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private Baseline() {
+    }
+
+    static LoadReport load(Path path) {
+        try {
+            return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read baseline " + path, e);
+        }
+    }
+
+    static void save(LoadReport report, Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            OBJECT_MAPPER.writeValue(path.toFile(), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + path, e);
+        }
+    }
+
+    /**
+     * @return one line per regression; empty if the run is at least as good as the baseline
+     */
+    static List<String> regressions(LoadReport baseline, LoadReport current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (LoadReport.OperationResult expected : baseline.operations()) {
+            LoadReport.OperationResult actual = current.operation(expected.name());
+            if (actual == null || actual.count() == 0) {
+                regressions.add(expected.name() + ": no successful operations");
+                continue;
+            }
+            if (actual.throughput() < expected.throughput() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f ops/s, baseline %.1f",
+                        expected.name(), actual.throughput(), expected.throughput()));
+            }
+            checkLatency(regressions, expected.name(), "p50", expected.p50(), actual.p50(), tolerance);
+            checkLatency(regressions, expected.name(), "p99", expected.p99(), actual.p99(), tolerance);
+            checkLatency(regressions, expected.name(), "p999", expected.p999(), actual.p999(), tolerance);
+            if (actual.errorRate() > expected.errorRate() + ERROR_RATE_SLACK) {
+                regressions.add(String.format(Locale.ROOT, "%s: error rate %.2f%%, baseline %.2f%%",
+                        expected.name(), actual.errorRate() * 100, expected.errorRate() * 100));
+            }
+        }
+        for (LoadReport.EventLoopResult expected : baseline.eventLoops()) {
+            LoadReport.EventLoopResult actual = current.eventLoop(expected.service());
+            if (actual == null || actual.samples() == 0) {
+                regressions.add(expected.service() + " event loops: no samples");
+            } else if (actual.utilization() > expected.utilization() * (1 + tolerance)
+                    && actual.utilization() - expected.utilization() > UTILIZATION_SLACK) {
+                regressions.add(String.format(Locale.ROOT, "%s event loops: %.1f%% busy, baseline %.1f%%",
+                        expected.service(), actual.utilization() * 100, expected.utilization() * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, String operation, String percentile,
+                                     double expected, double actual, double tolerance) {
+        if (actual > expected * (1 + tolerance) && actual - expected > LATENCY_SLACK_MS) {
+            regressions.add(String.format(Locale.ROOT, "%s: %s %.2f ms, baseline %.2f ms",
+                    operation, percentile, actual, expected));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.chatbot.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the Reactor Netty event-loop threads of a service JVM over JMX and reports
+ * the share of samples in which they were busy. A loop counts as idle only while it
+ * is runnable inside the selector; running code, waiting on a lock or a future, or
+ * blocking in a socket read all count as busy, so blocking calls on the event loop
+ * show up as utilization even when they burn no CPU.
+ */
+@Slf4j
+class EventLoopSampler implements AutoCloseable {
+
+    private static final String EVENT_LOOP_PREFIX = "reactor-http-";
+    private static final Duration INTERVAL = Duration.ofMillis(50);
+
+    private final String service;
+    private final JMXConnector connector;
+    private final ThreadMXBean threads;
+    private final ScheduledExecutorService executor;
+    private long[] eventLoopIds = new long[0];
+    private long samples;
+    private long busySamples;
+
+    private EventLoopSampler(String service, JMXConnector connector, ThreadMXBean threads) {
+        this.service = service;
+        this.connector = connector;
+        this.threads = threads;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-loop-sampler-" + service);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static EventLoopSampler connect(String service, int jmxPort) {
+        try {
+            JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(
+                    "service:jmx:rmi:///jndi/rmi://127.0.0.1:" + jmxPort + "/jmxrmi"));
+            MBeanServerConnection connection = connector.getMBeanServerConnection();
+            return new EventLoopSampler(service, connector, ManagementFactory.newPlatformMXBeanProxy(
+                    connection, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not connect to JMX of " + service, e);
+        }
+    }
+
+    void start() {
+        executor.scheduleAtFixedRate(this::sample, 0, INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    synchronized LoadReport.EventLoopResult result() {
+        return new LoadReport.EventLoopResult(service, eventLoopIds.length, samples,
+                samples == 0 ? 0 : (double) busySamples / samples);
+    }
+
+    private synchronized void sample() {
+        try {
+            if (eventLoopIds.length == 0) {
+                // Event loops start lazily, so look them up once traffic is flowing
+                eventLoopIds = Arrays.stream(threads.getThreadInfo(threads.getAllThreadIds(), 0))
+                        .filter(Objects::nonNull)
+                        .filter(info -> info.getThreadName().startsWith(EVENT_LOOP_PREFIX))
+                        .mapToLong(ThreadInfo::getThreadId)
+                        .toArray();
+            }
+            for (ThreadInfo info : threads.getThreadInfo(eventLoopIds, 1)) {
+                if (info != null) {
+                    samples++;
+                    if (!isSelecting(info)) {
+                        busySamples++;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not sample event loops of {}: {}", service, e.toString());
+        }
+    }
+
+    private static boolean isSelecting(ThreadInfo info) {
+        StackTraceElement[] stack = info.getStackTrace();
+        if (info.getThreadState() != Thread.State.RUNNABLE || stack.length == 0) {
+            return false;
+        }
+        String className = stack[0].getClassName();
+        String method = stack[0].getMethodName().toLowerCase(Locale.ROOT);
+        return (className.startsWith("sun.nio.ch.") || className.startsWith("io.netty.channel."))
+                && (method.contains("wait") || method.contains("poll") || method.contains("select"));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            connector.close();
+        } catch (IOException e) {
+            log.debug("Could not close JMX connection to {}", service, e);
+        }
+    }
+}
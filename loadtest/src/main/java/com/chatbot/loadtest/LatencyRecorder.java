@@ -0,0 +1,82 @@
+package com.chatbot.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histograms and error counts per operation. Only samples taken between
+ * {@link #startMeasuring()} and {@link #stopMeasuring()} count, so ramp-up and
+ * warm-up do not skew the steady-state numbers.
+ */
+class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private volatile long measuringSince;
+    private volatile long measuringUntil;
+    private volatile boolean measuring;
+
+    void startMeasuring() {
+        measuringSince = System.nanoTime();
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measuring = false;
+        measuringUntil = System.nanoTime();
+    }
+
+    void recordSuccess(String operation, long elapsedNanos) {
+        if (measuring) {
+            operation(operation).latency.recordValue(Math.min(
+                    TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS));
+        }
+    }
+
+    void recordError(String operation) {
+        if (measuring) {
+            operation(operation).errors.incrementAndGet();
+        }
+    }
+
+    LoadReport report(int users) {
+        Duration measured = Duration.ofNanos(measuringUntil - measuringSince);
+        double seconds = measured.toNanos() / 1e9;
+        return new LoadReport(users, measured.toSeconds(), operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Histogram latency = entry.getValue().latency;
+                    long count = latency.getTotalCount();
+                    return new LoadReport.OperationResult(
+                            entry.getKey(),
+                            count,
+                            entry.getValue().errors.get(),
+                            count / seconds,
+                            millis(latency.getValueAtPercentile(50)),
+                            millis(latency.getValueAtPercentile(99)),
+                            millis(latency.getValueAtPercentile(99.9)),
+                            millis(latency.getMaxValue()));
+                })
+                .toList());
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, n -> new Operation());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Operation {
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,56 @@
+package com.chatbot.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Steady-state results of one run. Latencies are in milliseconds, throughput in
+ * successful operations per second, event-loop utilization a fraction of samples.
+ */
+public record LoadReport(int users, long measuredSeconds, List<OperationResult> operations,
+                         List<EventLoopResult> eventLoops) {
+
+    public LoadReport {
+        // Reports saved before event loops were sampled have none
+        eventLoops = eventLoops != null ? eventLoops : List.of();
+    }
+
+    public LoadReport(int users, long measuredSeconds, List<OperationResult> operations) {
+        this(users, measuredSeconds, operations, List.of());
+    }
+
+    public record OperationResult(String name, long count, long errors, double throughput,
+                                  double p50, double p99, double p999, double max) {
+
+        public double errorRate() {
+            long total = count + errors;
+            return total == 0 ? 0 : (double) errors / total;
+        }
+    }
+
+    public record EventLoopResult(String service, int threads, long samples, double utilization) {
+    }
+
+    public OperationResult operation(String name) {
+        return operations.stream().filter(op -> op.name().equals(name)).findFirst().orElse(null);
+    }
+
+    public EventLoopResult eventLoop(String service) {
+        return eventLoops.stream().filter(loop -> loop.service().equals(service)).findFirst().orElse(null);
+    }
+
+    public String format() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%d users, %ds measured%n%-18s %9s %7s %10s %9s %9s %9s %9s%n",
+                users, measuredSeconds, "operation", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (OperationResult op : operations) {
+            table.append(String.format(Locale.ROOT, "%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op.name(), op.count(), op.errors(), op.throughput(), op.p50(), op.p99(), op.p999(), op.max()));
+        }
+        for (EventLoopResult loop : eventLoops) {
+            table.append(String.format(Locale.ROOT, "event loops of %s busy %.1f%% (%d threads, %d samples)%n",
+                    loop.service(), loop.utilization() * 100, loop.threads(), loop.samples()));
+        }
+        return table.toString();
+    }
+}
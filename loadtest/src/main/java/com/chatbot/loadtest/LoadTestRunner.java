@@ -0,0 +1,138 @@
+package com.chatbot.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Starts a Mongo stand-in, an NLU stub, session-service and the gateway, drives
+ * {@code users} virtual users through the gateway and compares the steady-state
+ * results, including how busy each service's event loops were, with the saved baseline. Exits with status 1 on a regression or when
+ * there is no baseline to compare with, so a release pipeline can gate on it.
+ *
+ * <pre>
+ * java -jar loadtest/target/loadtest.jar --users=100 --duration=2m
+ * java -jar loadtest/target/loadtest.jar --websocket-share=1
+ * java -jar loadtest/target/loadtest.jar --record-baseline
+ * </pre>
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        LoadReport report;
+        try (MongoStandIn mongo = new MongoStandIn().start();
+             NluStub nlu = new NluStub(settings.nluLatency(), settings.nluJitter()).start();
+             ServiceProcess sessionService = ServiceProcess.start("session-service", settings.sessionServiceJar(),
+                     settings.workDir(), Map.of(
+                             "spring.data.mongodb.uri", mongo.uri("chatbot_db"),
+                             "nlu.service.url", nlu.url()));
+             ServiceProcess gateway = ServiceProcess.start("api-gateway", settings.gatewayJar(),
+                     settings.workDir(), Map.of(
+                             "spring.data.mongodb.uri", mongo.uri("chatbot_db"),
+                             "session.service.url", "http://127.0.0.1:" + sessionService.port(),
+                             "session.service.ws-url", "ws://127.0.0.1:" + sessionService.port(),
+                             "nlu.service.url", nlu.url(),
+                             // Every virtual user shares the harness's IP
+                             "rate-limit.ip.capacity", "1000000",
+                             "rate-limit.ip.refill-per-second", "1000000"))) {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(sessionService::awaitHealthy),
+                    CompletableFuture.runAsync(gateway::awaitHealthy)).join();
+            try (EventLoopSampler gatewayLoops = gateway.eventLoopSampler();
+                 EventLoopSampler sessionServiceLoops = sessionService.eventLoopSampler()) {
+                report = drive(settings, gateway.url(), List.of(gatewayLoops, sessionServiceLoops));
+            }
+        }
+
+        System.out.print(report.format());
+        Baseline.save(report, settings.workDir().resolve("report.json"));
+        System.exit(verdict(settings, report));
+    }
+
+    private static LoadReport drive(LoadTestSettings settings, String gatewayUrl, List<EventLoopSampler> eventLoops) {
+        ConnectionProvider connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(settings.users() * 2)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl(gatewayUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        // Each WebSocket conversation holds its own connection outside the pool
+        WebSocketClient webSocketClient = new ReactorNettyWebSocketClient(HttpClient.create(ConnectionProvider.newConnection()));
+        URI webSocketUri = URI.create(gatewayUrl.replaceFirst("^http", "ws") + "/ws/chat");
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long rampUpNanos = settings.rampUp().toNanos();
+        Duration beforeMeasuring = settings.rampUp().plus(settings.warmUp());
+        long deadline = System.nanoTime() + beforeMeasuring.plus(settings.duration()).toNanos();
+        log.info("Ramping up {} users over {}, warming up for {}, then measuring for {}",
+                settings.users(), settings.rampUp(), settings.warmUp(), settings.duration());
+
+        Mono<Void> load = Flux.range(0, settings.users())
+                .flatMap(i -> Mono.delay(Duration.ofNanos(rampUpNanos * i / settings.users()))
+                        .then(new VirtualUser(i, client, chatsOverWebSocket(settings, i) ? webSocketClient : null,
+                                webSocketUri, recorder, settings).run(deadline)), settings.users())
+                .then();
+        Mono<Void> measurement = Mono.delay(beforeMeasuring)
+                .doOnNext(tick -> {
+                    recorder.startMeasuring();
+                    eventLoops.forEach(EventLoopSampler::start);
+                })
+                .then(Mono.delay(settings.duration()))
+                .doOnNext(tick -> {
+                    recorder.stopMeasuring();
+                    eventLoops.forEach(EventLoopSampler::stop);
+                })
+                .then();
+        Mono.when(load, measurement).block();
+        connections.dispose();
+        LoadReport report = recorder.report(settings.users());
+        return new LoadReport(report.users(), report.measuredSeconds(), report.operations(),
+                eventLoops.stream().map(EventLoopSampler::result).toList());
+    }
+
+    /**
+     * Spreads the WebSocket users evenly over the ramp-up instead of starting them in one block.
+     */
+    private static boolean chatsOverWebSocket(LoadTestSettings settings, int user) {
+        return (long) ((user + 1) * settings.webSocketShare()) > (long) (user * settings.webSocketShare());
+    }
+
+    private static int verdict(LoadTestSettings settings, LoadReport report) {
+        if (settings.recordBaseline()) {
+            Baseline.save(report, settings.baseline());
+            log.info("Saved new baseline to {}", settings.baseline());
+            return 0;
+        }
+        if (!Files.exists(settings.baseline())) {
+            log.error("No baseline at {}; run with --record-baseline to save this run as one", settings.baseline());
+            return 1;
+        }
+        List<String> regressions = Baseline.regressions(Baseline.load(settings.baseline()), report, settings.tolerance());
+        if (regressions.isEmpty()) {
+            log.info("Within {}% of the baseline", Math.round(settings.tolerance() * 100));
+            return 0;
+        }
+        regressions.forEach(regression -> log.error("Regression: {}", regression));
+        return 1;
+    }
+}
@@ -0,0 +1,72 @@
+package com.chatbot.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Knobs of a load-test run, read from {@code --name=value} arguments. Durations use
+ * the same format as the services' {@code application.yml} ({@code 30s}, {@code 2m}).
+ * {@code websocket-share} is the fraction of virtual users that chat over
+ * {@code /ws/chat} instead of {@code POST /api/chat/message}.
+ */
+public record LoadTestSettings(
+        int users,
+        Duration rampUp,
+        Duration warmUp,
+        Duration duration,
+        int turnsPerConversation,
+        Duration thinkTime,
+        Duration nluLatency,
+        Duration nluJitter,
+        double webSocketShare,
+        Path gatewayJar,
+        Path sessionServiceJar,
+        Path workDir,
+        Path baseline,
+        double tolerance,
+        boolean recordBaseline) {
+
+    private static final Set<String> NAMES = Set.of(
+            "users", "ramp-up", "warm-up", "duration", "turns", "think-time", "nlu-latency", "nlu-jitter",
+            "websocket-share", "gateway-jar", "session-service-jar", "work-dir", "baseline", "tolerance", "record-baseline");
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                duration(values.getOrDefault("ramp-up", "10s")),
+                duration(values.getOrDefault("warm-up", "20s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("turns", "6")),
+                duration(values.getOrDefault("think-time", "500ms")),
+                duration(values.getOrDefault("nlu-latency", "20ms")),
+                duration(values.getOrDefault("nlu-jitter", "10ms")),
+                Double.parseDouble(values.getOrDefault("websocket-share", "0.5")),
+                Path.of(values.getOrDefault("gateway-jar", "api-gateway/target/api-gateway-1.0.0-exec.jar")),
+                Path.of(values.getOrDefault("session-service-jar", "session-service/target/session-service-1.0.0-exec.jar")),
+                Path.of(values.getOrDefault("work-dir", "loadtest/target/run")),
+                Path.of(values.getOrDefault("baseline", "loadtest/baseline.json")),
+                Double.parseDouble(values.getOrDefault("tolerance", "0.2")),
+                Boolean.parseBoolean(values.getOrDefault("record-baseline", "false")));
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+}
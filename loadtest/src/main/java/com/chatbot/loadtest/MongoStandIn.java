@@ -0,0 +1,33 @@
+package com.chatbot.loadtest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-memory server speaking the MongoDB wire protocol, so both services run their
+ * real repositories against it without a container or a mongod binary. It keeps
+ * everything on the heap and does not use indexes for query planning; it stands in
+ * for Mongo's behaviour, not its performance.
+ */
+class MongoStandIn implements AutoCloseable {
+
+    private final MongoServer server = new MongoServer(new MemoryBackend());
+    private InetSocketAddress address;
+
+    MongoStandIn start() {
+        server.bind("127.0.0.1", 0);
+        address = server.getLocalAddress();
+        return this;
+    }
+
+    String uri(String database) {
+        return "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + database;
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package com.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Stands in for the Python NLU service: answers the single and batch classify
+ * endpoints after {@code latency} plus up to {@code jitter} of uniformly random
+ * extra delay, with a keyword-based intent that is good enough to drive the chat flow.
+ */
+class NluStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration latency;
+    private final Duration jitter;
+    private DisposableServer server;
+
+    NluStub(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+    }
+
+    NluStub start() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .post("/api/nlu/classify", (request, response) -> respond(request, response,
+                                body -> classify(body.path("message").asText())))
+                        .post("/api/nlu/classify/batch", (request, response) -> respond(request, response,
+                                body -> {
+                                    List<Map<String, Object>> results = new ArrayList<>();
+                                    body.path("messages").forEach(message -> results.add(classify(message.asText())));
+                                    return Map.of("results", results);
+                                }))
+                        .get("/health", (request, response) -> response.sendString(Mono.just("{\"status\":\"healthy\"}"))))
+                .bindNow();
+        return this;
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response,
+                               Function<JsonNode, Object> handler) {
+        return request.receive().aggregate().asByteArray()
+                .map(bytes -> write(handler.apply(read(bytes))))
+                .delayElement(delay())
+                .flatMap(json -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(json))
+                        .then());
+    }
+
+    private Duration delay() {
+        long jitterNanos = jitter.toNanos();
+        return jitterNanos > 0
+                ? latency.plusNanos(ThreadLocalRandom.current().nextLong(jitterNanos + 1))
+                : latency;
+    }
+
+    private static Map<String, Object> classify(String message) {
+        String text = message.toLowerCase(Locale.ROOT);
+        String intent;
+        if (text.contains("hello") || text.contains("hi ")) {
+            intent = "greeting";
+        } else if (text.contains("bye")) {
+            intent = "goodbye";
+        } else if (text.contains("help")) {
+            intent = "help";
+        } else {
+            intent = "question";
+        }
+        return Map.of("intent", intent, "confidence", 0.75, "entities", Map.of());
+    }
+
+    private JsonNode read(byte[] bytes) {
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+}
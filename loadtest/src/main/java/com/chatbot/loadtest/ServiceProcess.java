@@ -0,0 +1,124 @@
+package com.chatbot.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service started from its executable jar in a child JVM, as it runs in
+ * production. Its output goes to {@code <name>.log} in the work directory. JMX is
+ * open on a loopback port so the harness can sample the service's threads.
+ */
+@Slf4j
+class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final String name;
+    private final int port;
+    private final int jmxPort;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, int port, int jmxPort, Process process, Path logFile) {
+        this.name = name;
+        this.port = port;
+        this.jmxPort = jmxPort;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    static ServiceProcess start(String name, Path jar, Path workDir, Map<String, String> properties) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found; build it with 'mvn package -DskipTests' first");
+        }
+        int port = freePort();
+        int jmxPort = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dcom.sun.management.jmxremote.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.host=127.0.0.1",
+                "-Djava.rmi.server.hostname=127.0.0.1",
+                "-Dcom.sun.management.jmxremote.authenticate=false",
+                "-Dcom.sun.management.jmxremote.ssl=false",
+                "-jar", jar.toString(),
+                "--server.port=" + port));
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+        try {
+            Files.createDirectories(workDir);
+            Path logFile = workDir.resolve(name + ".log");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            log.info("Started {} on port {} (pid {})", name, port, process.pid());
+            return new ServiceProcess(name, port, jmxPort, process, logFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start " + name, e);
+        }
+    }
+
+    int port() {
+        return port;
+    }
+
+    EventLoopSampler eventLoopSampler() {
+        return EventLoopSampler.connect(name, jmxPort);
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    /**
+     * Blocks until {@code /actuator/health} reports UP.
+     */
+    void awaitHealthy() {
+        WebClient.create(url()).get()
+                .uri("/actuator/health")
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(500))
+                        .filter(e -> process.isAlive()))
+                .timeout(STARTUP_TIMEOUT, Mono.error(() -> new IllegalStateException(
+                        name + " did not become healthy within " + STARTUP_TIMEOUT + ", see " + logFile)))
+                .onErrorMap(e -> !process.isAlive(), e -> new IllegalStateException(
+                        name + " exited with code " + process.exitValue() + " during startup, see " + logFile))
+                .block();
+        log.info("{} is healthy", name);
+    }
+
+    static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
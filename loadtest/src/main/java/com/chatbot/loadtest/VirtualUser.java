@@ -0,0 +1,284 @@
+package com.chatbot.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * One simulated user: registers through the gateway, then until the deadline
+ * logs in and holds a few conversations of {@code turns} messages per login.
+ * After each conversation it reopens the session, lists its sessions and now and
+ * then ends the conversation explicitly, like the frontend does.
+ * Users given a WebSocket client hold each conversation over one {@code /ws/chat}
+ * connection and record its turns as {@link #CHAT_WEBSOCKET}, so both transports
+ * can be compared in the same run.
+ */
+@Slf4j
+class VirtualUser {
+
+    static final String LOGIN = "auth.login";
+    static final String CHAT = "chat.message";
+    static final String CHAT_WEBSOCKET = "chat.websocket";
+    static final String SESSION_WINDOW = "session.window";
+    static final String SESSION_LIST = "session.list";
+    static final String SESSION_TERMINATE = "session.terminate";
+
+    private static final int CONVERSATIONS_PER_LOGIN = 3;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String PASSWORD = "load-test-password";
+    private static final List<String> OPENERS = List.of(
+            "Hello there", "Hi, I need some help", "Good morning");
+    private static final List<String> QUESTIONS = List.of(
+            "Where is my order %d?",
+            "Can you help me change the delivery address for order %d?",
+            "What are your opening hours on day %d?",
+            "My payment %d failed, what should I do?",
+            "How do I reset my password for account %d?",
+            "Is item %d available in blue?");
+    private static final List<String> CLOSERS = List.of(
+            "Thanks, bye!", "Goodbye", "That's all, thank you");
+
+    private final String username;
+    private final WebClient gateway;
+    private final WebSocketClient webSocketClient;
+    private final URI webSocketUri;
+    private final LatencyRecorder recorder;
+    private final LoadTestSettings settings;
+
+    /**
+     * @param webSocketClient client for {@code webSocketUri}, or {@code null} to chat over REST
+     */
+    VirtualUser(int id, WebClient gateway, WebSocketClient webSocketClient, URI webSocketUri,
+                LatencyRecorder recorder, LoadTestSettings settings) {
+        this.username = "loadtest-" + id + "-" + Long.toHexString(System.nanoTime());
+        this.gateway = gateway;
+        this.webSocketClient = webSocketClient;
+        this.webSocketUri = webSocketUri;
+        this.recorder = recorder;
+        this.settings = settings;
+    }
+
+    Mono<Void> run(long deadlineNanos) {
+        return register()
+                .then(Mono.defer(this::visit).repeat(() -> System.nanoTime() < deadlineNanos).then())
+                .onErrorResume(e -> {
+                    log.warn("Virtual user {} could not register: {}", username, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Logs in and holds a few conversations with the token, the way a returning user would.
+     */
+    private Mono<Void> visit() {
+        return timed(LOGIN, login())
+                .flatMap(token -> Flux.range(0, CONVERSATIONS_PER_LOGIN)
+                        .concatMap(i -> conversation(token))
+                        .then())
+                .onErrorResume(e -> thinkTime().then());
+    }
+
+    private Mono<Void> conversation(String token) {
+        int turns = Math.max(settings.turnsPerConversation(), 1);
+        AtomicReference<String> sessionId = new AtomicReference<>();
+        Mono<Void> chat = webSocketClient != null
+                ? chatOverWebSocket(token, turns, sessionId)
+                : Flux.range(0, turns)
+                        .concatMap(turn -> thinkTime().then(Mono.defer(() -> chat(token, message(turn, turns), sessionId.get())))
+                                .doOnNext(sessionId::set))
+                        .then();
+        return chat
+                .then(Mono.fromSupplier(sessionId::get))
+                .flatMap(id -> thinkTime()
+                        .then(timed(SESSION_WINDOW, get(token, "/api/sessions/" + id + "?limit=20")))
+                        .then(timed(SESSION_LIST, get(token, "/api/sessions?limit=20")))
+                        .then(ThreadLocalRandom.current().nextInt(3) == 0
+                                ? timed(SESSION_TERMINATE, delete(token, "/api/sessions/" + id))
+                                : Mono.empty()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private Mono<String> chat(String token, String message, String sessionId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", message);
+        body.put("sessionId", sessionId);
+        Mono<String> call = gateway.post()
+                .uri("/api/chat/message")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(response -> response.path("sessionId").asText());
+        // A failed turn keeps the conversation going in the session it already has
+        return timed(CHAT, call)
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * Holds the conversation over one connection, sending the next message a think time
+     * after the previous reply. A turn's latency runs from sending the frame to its reply.
+     */
+    private Mono<Void> chatOverWebSocket(String token, int turns, AtomicReference<String> sessionId) {
+        WebSocketHandler handler = new WebSocketHandler() {
+            @Override
+            public List<String> getSubProtocols() {
+                return List.of("bearer", token);
+            }
+
+            @Override
+            public Mono<Void> handle(WebSocketSession session) {
+                Sinks.Many<String> frames = Sinks.many().unicast().onBackpressureBuffer();
+                AtomicLong sentAt = new AtomicLong();
+                IntConsumer send = turn -> {
+                    sentAt.set(System.nanoTime());
+                    frames.tryEmitNext(webSocketFrame(message(turn, turns)));
+                };
+
+                Mono<Void> replies = session.receive()
+                        .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                        .map(WebSocketMessage::getPayloadAsText)
+                        .take(turns)
+                        .index()
+                        .concatMap(reply -> {
+                            String replySessionId = sessionIdOf(reply.getT2());
+                            if (replySessionId != null) {
+                                recorder.recordSuccess(CHAT_WEBSOCKET, System.nanoTime() - sentAt.get());
+                                sessionId.set(replySessionId);
+                            } else {
+                                recorder.recordError(CHAT_WEBSOCKET);
+                            }
+                            int next = reply.getT1().intValue() + 1;
+                            return next < turns ? thinkTime().doOnNext(tick -> send.accept(next)) : Mono.empty();
+                        })
+                        .doFinally(signal -> frames.tryEmitComplete())
+                        .then();
+
+                return Mono.when(
+                        session.send(frames.asFlux().map(session::textMessage)),
+                        replies,
+                        thinkTime().doOnNext(tick -> send.accept(0)));
+            }
+        };
+        return webSocketClient.execute(webSocketUri, handler)
+                .onErrorResume(e -> {
+                    recorder.recordError(CHAT_WEBSOCKET);
+                    return Mono.empty();
+                });
+    }
+
+    private static String webSocketFrame(String message) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(Map.of("message", message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the session id of a chat reply, or {@code null} for an error frame
+     */
+    private static String sessionIdOf(String reply) {
+        try {
+            JsonNode sessionId = OBJECT_MAPPER.readTree(reply).get("sessionId");
+            return sessionId != null && sessionId.isTextual() ? sessionId.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private Mono<Void> register() {
+        return gateway.post()
+                .uri("/api/auth/register")
+                .bodyValue(Map.of("username", username, "password", PASSWORD))
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(Retry.backoff(5, Duration.ofMillis(200))
+                        .filter(VirtualUser::isTooManyRequests))
+                .then();
+    }
+
+    private Mono<String> login() {
+        return gateway.post()
+                .uri("/api/auth/login")
+                .bodyValue(Map.of("username", username, "password", PASSWORD))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(response -> response.path("accessToken").asText());
+    }
+
+    private Mono<Void> get(String token, String uri) {
+        return gateway.get()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .then();
+    }
+
+    private Mono<Void> delete(String token, String uri) {
+        return gateway.delete()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> recorder.recordSuccess(operation, System.nanoTime() - start))
+                    .doOnError(e -> recorder.recordError(operation));
+        });
+    }
+
+    private Mono<Long> thinkTime() {
+        long nanos = settings.thinkTime().toNanos();
+        if (nanos == 0) {
+            return Mono.just(0L);
+        }
+        // Uniform between half and one and a half times the configured think time
+        return Mono.delay(Duration.ofNanos(nanos / 2 + ThreadLocalRandom.current().nextLong(nanos + 1)));
+    }
+
+    private static String message(int turn, int turns) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (turn == 0) {
+            return OPENERS.get(random.nextInt(OPENERS.size()));
+        }
+        if (turn == turns - 1) {
+            return CLOSERS.get(random.nextInt(CLOSERS.size()));
+        }
+        return String.format(QUESTIONS.get(random.nextInt(QUESTIONS.size())), random.nextInt(100_000));
+    }
+
+    private static boolean isTooManyRequests(Throwable e) {
+        return e instanceof WebClientResponseException response
+                && response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
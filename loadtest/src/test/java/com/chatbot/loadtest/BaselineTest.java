@@ -0,0 +1,97 @@
+package com.chatbot.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineTest {
+
+    private static final LoadReport BASELINE = new LoadReport(50, 60, List.of(
+            new LoadReport.OperationResult("chat.message", 6000, 0, 100.0, 20.0, 80.0, 150.0, 300.0)));
+
+    @Test
+    void testRunWithinToleranceHasNoRegressions() {
+        // Given
+        LoadReport current = new LoadReport(50, 60, List.of(
+                new LoadReport.OperationResult("chat.message", 5700, 10, 95.0, 23.0, 90.0, 170.0, 900.0)));
+
+        // When
+        List<String> regressions = Baseline.regressions(BASELINE, current, 0.2);
+
+        // Then
+        assertTrue(regressions.isEmpty(), regressions::toString);
+    }
+
+    @Test
+    void testSlowerAndLowerThroughputRunRegresses() {
+        // Given
+        LoadReport current = new LoadReport(50, 60, List.of(
+                new LoadReport.OperationResult("chat.message", 4200, 300, 70.0, 21.0, 120.0, 150.0, 300.0)));
+
+        // When
+        List<String> regressions = Baseline.regressions(BASELINE, current, 0.2);
+
+        // Then
+        assertEquals(3, regressions.size(), regressions::toString);
+        assertTrue(regressions.get(0).startsWith("chat.message: throughput"));
+        assertTrue(regressions.get(1).startsWith("chat.message: p99"));
+        assertTrue(regressions.get(2).startsWith("chat.message: error rate"));
+    }
+
+    @Test
+    void testSubMillisecondLatencyNoiseIsIgnored() {
+        // Given
+        LoadReport fast = new LoadReport(50, 60, List.of(
+                new LoadReport.OperationResult("session.window", 1000, 0, 10.0, 0.5, 1.0, 1.5, 2.0)));
+        LoadReport current = new LoadReport(50, 60, List.of(
+                new LoadReport.OperationResult("session.window", 1000, 0, 10.0, 0.9, 1.8, 2.4, 5.0)));
+
+        // When
+        List<String> regressions = Baseline.regressions(fast, current, 0.2);
+
+        // Then
+        assertTrue(regressions.isEmpty(), regressions::toString);
+    }
+
+    @Test
+    void testMissingOperationRegresses() {
+        // When
+        List<String> regressions = Baseline.regressions(BASELINE, new LoadReport(50, 60, List.of()), 0.2);
+
+        // Then
+        assertEquals(List.of("chat.message: no successful operations"), regressions);
+    }
+
+    @Test
+    void testBusierEventLoopsRegress() {
+        // Given
+        LoadReport baseline = new LoadReport(50, 60, List.of(), List.of(
+                new LoadReport.EventLoopResult("session-service", 4, 4800, 0.20),
+                new LoadReport.EventLoopResult("api-gateway", 4, 4800, 0.10)));
+        LoadReport current = new LoadReport(50, 60, List.of(), List.of(
+                new LoadReport.EventLoopResult("session-service", 4, 4800, 0.45),
+                new LoadReport.EventLoopResult("api-gateway", 4, 4800, 0.14)));
+
+        // When
+        List<String> regressions = Baseline.regressions(baseline, current, 0.2);
+
+        // Then
+        assertEquals(List.of("session-service event loops: 45.0% busy, baseline 20.0%"), regressions);
+    }
+
+    @Test
+    void testSaveAndLoadRoundTrip(@TempDir Path dir) {
+        // Given
+        Path file = dir.resolve("baseline.json");
+
+        // When
+        Baseline.save(BASELINE, file);
+
+        // Then
+        assertEquals(BASELINE, Baseline.load(file));
+    }
+}
@@ -0,0 +1,34 @@
+package com.chatbot.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestSettingsTest {
+
+    @Test
+    void testParsesOptionsAndKeepsDefaults() {
+        // When
+        LoadTestSettings settings = LoadTestSettings.parse("--users=200", "--duration=2m", "--record-baseline");
+
+        // Then
+        assertEquals(200, settings.users());
+        assertEquals(Duration.ofMinutes(2), settings.duration());
+        assertTrue(settings.recordBaseline());
+        assertEquals(Duration.ofMillis(500), settings.thinkTime());
+        assertEquals(0.2, settings.tolerance());
+        assertEquals(0.5, settings.webSocketShare());
+    }
+
+    @Test
+    void testRejectsUnknownOption() {
+        // When
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestSettings.parse("--userz=10"));
+
+        // Then
+        assertTrue(error.getMessage().startsWith("Unknown option --userz"));
+    }
+}
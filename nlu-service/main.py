@@ -10,7 +10,13 @@ import uvicorn
 from services.nlu_service import NLUService
 from services.intent_classifier import IntentClassifier
 from database.mongodb import get_database
-from models.request_models import ClassificationRequest, ClassificationResponse
+from tracing import configure_tracing
+from models.request_models import (
+    ClassificationRequest,
+    ClassificationResponse,
+    BatchClassificationRequest,
+    BatchClassificationResponse,
+)
 
 # Configure logging
 logging.basicConfig(level=logging.INFO)
@@ -31,6 +37,9 @@ app.add_middleware(
     allow_headers=["*"],
 )
 
+# Join traces propagated by the session service
+configure_tracing(app)
+
 # Initialize services
 nlu_service = NLUService()
 intent_classifier = IntentClassifier()
@@ -77,6 +86,39 @@ async def classify_intent(request: ClassificationRequest):
         logger.error(f"Error classifying message: {str(e)}")
         raise HTTPException(status_code=500, detail="Classification failed")
 
+@app.post("/api/nlu/classify/batch", response_model=BatchClassificationResponse)
+async def classify_intent_batch(request: BatchClassificationRequest):
+    """
+    Classify a batch of user messages in one call; results keep the request order
+    """
+    try:
+        logger.info(f"Classifying batch of {len(request.messages)} messages")
+        
+        results = []
+        classifications = []
+        for message in request.messages:
+            intent, confidence, entities = await intent_classifier.classify(message)
+            results.append(ClassificationResponse(
+                intent=intent,
+                confidence=confidence,
+                entities=entities
+            ))
+            classifications.append({
+                "message": message,
+                "intent": intent,
+                "confidence": confidence,
+                "entities": entities
+            })
+        
+        # Log the whole batch with a single write
+        await nlu_service.log_classifications(classifications)
+        
+        return BatchClassificationResponse(results=results)
+        
+    except Exception as e:
+        logger.error(f"Error classifying batch: {str(e)}")
+        raise HTTPException(status_code=500, detail="Batch classification failed")
+
 @app.get("/api/nlu/intents")
 async def get_intents():
     """Get all available intents"""
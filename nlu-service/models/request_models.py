@@ -1,5 +1,5 @@
 from pydantic import BaseModel
-from typing import Dict, Any, Optional
+from typing import Dict, Any, List, Optional
 
 class ClassificationRequest(BaseModel):
     message: str
@@ -9,3 +9,9 @@ class ClassificationResponse(BaseModel):
     intent: str
     confidence: float
     entities: Dict[str, Any]
+
+class BatchClassificationRequest(BaseModel):
+    messages: List[str]
+
+class BatchClassificationResponse(BaseModel):
+    results: List[ClassificationResponse]
@@ -40,6 +40,23 @@ class NLUService:
         except Exception as e:
             logger.error(f"Failed to log classification: {str(e)}")
 
+    async def log_classifications(self, classifications: List[Dict[str, Any]]):
+        """Log a batch of classification results to MongoDB with a single insert"""
+        try:
+            if not classifications:
+                return
+            timestamp = datetime.now()
+            classification_logs = [
+                {**classification, "timestamp": timestamp, "service": "nlu-service"}
+                for classification in classifications
+            ]
+            
+            await self.db.analytics.insert_many(classification_logs)
+            logger.debug(f"Logged {len(classification_logs)} classifications")
+            
+        except Exception as e:
+            logger.error(f"Failed to log classifications: {str(e)}")
+
     async def get_intents(self) -> List[Dict[str, Any]]:
         """Get all available intents from MongoDB"""
         try:
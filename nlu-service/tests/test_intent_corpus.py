@@ -0,0 +1,28 @@
+import json
+import os
+
+import pytest
+from services.intent_classifier import IntentClassifier
+
+# Shared with session-service's LocalIntentClassifierTest, which asserts the
+# in-process Java port returns exactly the same results.
+CORPUS_PATH = os.path.join(
+    os.path.dirname(__file__), "..", "..",
+    "session-service", "src", "test", "resources", "nlu", "intent-corpus.json"
+)
+
+@pytest.mark.asyncio
+async def test_classifier_matches_shared_corpus():
+    """Test the rule-based classifier against the corpus shared with session-service"""
+    if not os.path.exists(CORPUS_PATH):
+        pytest.skip("shared intent corpus not available")
+
+    classifier = IntentClassifier()
+    await classifier.load_model()
+
+    with open(CORPUS_PATH) as corpus_file:
+        corpus = json.load(corpus_file)
+
+    for case in corpus:
+        intent, confidence, entities = await classifier.classify(case["message"])
+        assert (intent, confidence, entities) == (case["intent"], case["confidence"], case["entities"]), case["message"]
@@ -11,6 +11,7 @@ def mock_nlu_service():
     with patch('main.nlu_service') as mock:
         mock.initialize = AsyncMock()
         mock.log_classification = AsyncMock()
+        mock.log_classifications = AsyncMock()
         yield mock
 
 @pytest.fixture
@@ -60,6 +61,24 @@ async def test_classify_intent_with_entities(mock_nlu_service, mock_intent_class
     assert data["confidence"] == 0.87
     assert "email" in data["entities"]
 
+@pytest.mark.asyncio
+async def test_classify_intent_batch(mock_nlu_service, mock_intent_classifier):
+    """Test batch classification keeps request order and logs once"""
+    mock_intent_classifier.classify.side_effect = [
+        ("greeting", 0.95, {}),
+        ("goodbye", 0.8, {})
+    ]
+    
+    response = client.post(
+        "/api/nlu/classify/batch",
+        json={"messages": ["Hello", "See you"]}
+    )
+    
+    assert response.status_code == 200
+    results = response.json()["results"]
+    assert [r["intent"] for r in results] == ["greeting", "goodbye"]
+    mock_nlu_service.log_classifications.assert_awaited_once()
+
 @pytest.mark.asyncio
 async def test_classify_intent_error(mock_nlu_service, mock_intent_classifier):
     """Test intent classification error handling"""
@@ -0,0 +1,37 @@
+import logging
+import os
+
+from opentelemetry import trace
+from opentelemetry.exporter.otlp.proto.http.trace_exporter import OTLPSpanExporter
+from opentelemetry.instrumentation.fastapi import FastAPIInstrumentor
+from opentelemetry.instrumentation.pymongo import PymongoInstrumentor
+from opentelemetry.sdk.resources import Resource
+from opentelemetry.sdk.trace import TracerProvider
+from opentelemetry.sdk.trace.export import BatchSpanProcessor
+from opentelemetry.sdk.trace.sampling import ParentBased, TraceIdRatioBased
+
+logger = logging.getLogger(__name__)
+
+
+def configure_tracing(app):
+    """
+    Continue the traces started by the Java services: requests carrying a W3C
+    traceparent header join that trace and follow its sampling decision, and every
+    MongoDB command gets its own span. Does nothing unless an OTLP endpoint is set.
+    """
+    endpoint = os.getenv("OTEL_EXPORTER_OTLP_TRACES_ENDPOINT")
+    if not endpoint:
+        logger.info("Tracing disabled, OTEL_EXPORTER_OTLP_TRACES_ENDPOINT is not set")
+        return
+
+    probability = float(os.getenv("TRACING_SAMPLING_PROBABILITY", "0.1"))
+    provider = TracerProvider(
+        resource=Resource.create({"service.name": "nlu-service"}),
+        sampler=ParentBased(TraceIdRatioBased(probability)),
+    )
+    provider.add_span_processor(BatchSpanProcessor(OTLPSpanExporter(endpoint=endpoint)))
+    trace.set_tracer_provider(provider)
+
+    FastAPIInstrumentor.instrument_app(app, tracer_provider=provider, excluded_urls="health")
+    PymongoInstrumentor().instrument(tracer_provider=provider)
+    logger.info(f"Tracing enabled, exporting spans to {endpoint}")
@@ -0,0 +1,98 @@
+package com.chatbot.session.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over a fixed set of keywords. A single left-to-right
+ * pass reports every occurrence of every keyword, including overlapping ones,
+ * in time linear in the text length plus the number of matches.
+ */
+final class KeywordAutomaton<T> {
+
+    @FunctionalInterface
+    interface MatchHandler<T> {
+        void onMatch(int start, int end, T payload);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private final List<Entry<?>> outputs = new ArrayList<>();
+        private Node fail;
+    }
+
+    private record Entry<T>(int length, T payload) {
+    }
+
+    private final Node root = new Node();
+
+    private KeywordAutomaton() {
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    static final class Builder<T> {
+        private final KeywordAutomaton<T> automaton = new KeywordAutomaton<>();
+
+        Builder<T> add(String keyword, T payload) {
+            automaton.insert(keyword, payload);
+            return this;
+        }
+
+        KeywordAutomaton<T> build() {
+            automaton.link();
+            return automaton;
+        }
+    }
+
+    private void insert(String keyword, T payload) {
+        Node node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.next.computeIfAbsent(keyword.charAt(i), c -> new Node());
+        }
+        node.outputs.add(new Entry<>(keyword.length(), payload));
+    }
+
+    private void link() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> edge : node.next.entrySet()) {
+                Node child = edge.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(edge.getKey())) {
+                    fail = fail.fail;
+                }
+                Node target = fail.next.get(edge.getKey());
+                child.fail = target != null && target != child ? target : root;
+                child.outputs.addAll(child.fail.outputs);
+                queue.add(child);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void scan(String text, MatchHandler<T> handler) {
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.next.getOrDefault(c, root);
+            for (Entry<?> entry : node.outputs) {
+                handler.onMatch(i + 1 - entry.length(), i + 1, (T) entry.payload());
+            }
+        }
+    }
+}
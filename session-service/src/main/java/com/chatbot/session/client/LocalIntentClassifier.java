@@ -0,0 +1,157 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process port of the rule-based classifier in
+ * {@code nlu-service/services/intent_classifier.py}. All intent keywords are
+ * compiled into one {@link KeywordAutomaton}, so a message is classified in a
+ * single pass instead of one regex search per pattern. Results must stay
+ * identical to the Python classifier; keep both rule sets in sync.
+ */
+@Component
+public class LocalIntentClassifier {
+
+    private static final String UNKNOWN = "unknown";
+    private static final double MATCH_CONFIDENCE = 0.8;
+    private static final double BOOSTED_CONFIDENCE = 0.95;
+
+    /** Intents in evaluation order; on equal confidence the earlier intent wins. */
+    private static final List<String> INTENTS = List.of(
+            "greeting", "goodbye", "help", "thanks", "complaint", "question");
+
+    private static final Map<String, List<String>> INTENT_KEYWORDS = Map.of(
+            "greeting", List.of("hello", "hi", "hey", "good morning", "good afternoon", "good evening",
+                    "howdy", "greetings", "what's up"),
+            "goodbye", List.of("bye", "goodbye", "see you", "farewell", "take care",
+                    "see you later", "until next time", "have a good day"),
+            "help", List.of("help", "assist", "support", "how to", "what can you do",
+                    "guide", "instructions", "tutorial", "explain"),
+            "thanks", List.of("thank you", "thanks", "appreciate", "grateful",
+                    "much obliged", "cheers", "thx"),
+            "complaint", List.of("problem", "issue", "error", "bug", "broken", "not working",
+                    "complaint", "frustrated", "angry", "disappointed"),
+            "question", List.of("what", "how", "when", "where", "why", "who", "which",
+                    "can you", "could you", "would you", "is it possible")
+    );
+
+    /** Substrings that raise any match to the boosted confidence, matched without word boundaries. */
+    private static final List<String> BOOST_WORDS = List.of("hello", "hi", "bye", "goodbye", "help", "thanks");
+
+    private static final int BOOST = -1;
+
+    private static final int FLAGS = Pattern.UNICODE_CHARACTER_CLASS;
+    private static final Pattern EMAIL = Pattern.compile(
+            "\\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Z|a-z]{2,}\\b", FLAGS);
+    private static final Pattern PHONE = Pattern.compile("\\b\\d{3}[-.]?\\d{3}[-.]?\\d{4}\\b", FLAGS);
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b", FLAGS);
+    private static final Pattern URL = Pattern.compile(
+            "http[s]?://(?:[a-zA-Z]|[0-9]|[$-_@.&+]|[!*\\\\(\\\\),]|(?:%[0-9a-fA-F][0-9a-fA-F]))+", FLAGS);
+
+    private final KeywordAutomaton<Integer> automaton;
+    private final boolean enabled;
+    private final double minConfidence;
+
+    public LocalIntentClassifier(
+            @Value("${nlu.local.enabled:true}") boolean enabled,
+            @Value("${nlu.local.min-confidence:0.8}") double minConfidence) {
+        this.enabled = enabled;
+        this.minConfidence = minConfidence;
+
+        KeywordAutomaton.Builder<Integer> builder = KeywordAutomaton.builder();
+        for (int i = 0; i < INTENTS.size(); i++) {
+            for (String keyword : INTENT_KEYWORDS.get(INTENTS.get(i))) {
+                builder.add(keyword, i);
+            }
+        }
+        BOOST_WORDS.forEach(word -> builder.add(word, BOOST));
+        this.automaton = builder.build();
+    }
+
+    /**
+     * Returns the local classification if it is confident enough to skip the remote NLU service.
+     */
+    public Optional<NluResponse> classifyIfConfident(String message) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        NluResponse response = classify(message);
+        return response.getConfidence() >= minConfidence && !UNKNOWN.equals(response.getIntent())
+                ? Optional.of(response)
+                : Optional.empty();
+    }
+
+    public NluResponse classify(String message) {
+        String text = message.toLowerCase(Locale.ROOT).strip();
+        int[] best = {Integer.MAX_VALUE};
+        boolean[] boosted = {false};
+
+        automaton.scan(text, (start, end, intent) -> {
+            if (intent == BOOST) {
+                boosted[0] = true;
+            } else if (intent < best[0] && isWordBoundary(text, start) && isWordBoundary(text, end)) {
+                best[0] = intent;
+            }
+        });
+
+        Map<String, Object> entities = extractEntities(message);
+        if (best[0] == Integer.MAX_VALUE) {
+            return new NluResponse(UNKNOWN, 0.0, entities);
+        }
+        return new NluResponse(INTENTS.get(best[0]), boosted[0] ? BOOSTED_CONFIDENCE : MATCH_CONFIDENCE, entities);
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        boolean wordBefore = index > 0 && isWordChar(text.charAt(index - 1));
+        boolean wordAfter = index < text.length() && isWordChar(text.charAt(index));
+        return wordBefore != wordAfter;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static Map<String, Object> extractEntities(String message) {
+        boolean hasAt = message.indexOf('@') >= 0;
+        boolean hasDigit = false;
+        for (int i = 0; i < message.length() && !hasDigit; i++) {
+            hasDigit = Character.isDigit(message.charAt(i));
+        }
+        boolean hasUrl = message.contains("http");
+        if (!hasAt && !hasDigit && !hasUrl) {
+            return Map.of();
+        }
+
+        Map<String, Object> entities = new LinkedHashMap<>();
+        if (hasAt) {
+            collect(entities, "email", EMAIL, message);
+        }
+        if (hasDigit) {
+            collect(entities, "phone", PHONE, message);
+            collect(entities, "number", NUMBER, message);
+        }
+        if (hasUrl) {
+            collect(entities, "url", URL, message);
+        }
+        return entities;
+    }
+
+    private static void collect(Map<String, Object> entities, String type, Pattern pattern, String message) {
+        Matcher matcher = pattern.matcher(message);
+        List<String> matches = matcher.results().map(MatchResult::group).toList();
+        if (!matches.isEmpty()) {
+            entities.put(type, matches);
+        }
+    }
+}
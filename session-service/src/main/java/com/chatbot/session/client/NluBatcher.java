@@ -0,0 +1,154 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent classification calls into calls to the NLU batch endpoint.
+ * Requests are collected for at most {@code window} or until {@code max-size}
+ * are waiting, sent as one batch, and each caller's {@code Mono} completes with
+ * its own result. With batching disabled every call goes straight to {@link NluClient}.
+ * If the batching pipeline ever fails, waiting callers fail with it and a fresh
+ * pipeline takes over, so one fault does not disable classification until restart.
+ */
+@Slf4j
+@Component
+public class NluBatcher {
+
+    private record Pending(String message, CompletableFuture<NluResponse> result) {
+    }
+
+    private final NluClient nluClient;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxSize;
+    private final int maxConcurrentBatches;
+    private final DistributionSummary batchSizes;
+    private final Set<Pending> outstanding = ConcurrentHashMap.newKeySet();
+    // Serializes emissions into the unsafe sink; held only for one offer
+    private final Object emitLock = new Object();
+    private volatile Sinks.Many<Pending> pending;
+    private volatile Disposable subscription;
+    private volatile boolean shutdown;
+
+    public NluBatcher(
+            NluClient nluClient,
+            MeterRegistry meterRegistry,
+            @Value("${nlu.batch.enabled:false}") boolean enabled,
+            @Value("${nlu.batch.window:5ms}") Duration window,
+            @Value("${nlu.batch.max-size:32}") int maxSize,
+            @Value("${nlu.batch.max-concurrent-batches:16}") int maxConcurrentBatches) {
+        this.nluClient = nluClient;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.batchSizes = DistributionSummary.builder("nlu.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (enabled) {
+            start();
+        }
+    }
+
+    private void start() {
+        Sinks.Many<Pending> sink = Sinks.unsafe().many().unicast().onBackpressureBuffer();
+        synchronized (emitLock) {
+            pending = sink;
+        }
+        // Fair backpressure: buffers are only emitted on demand, so saturating
+        // maxConcurrentBatches delays the next batch instead of overflowing
+        subscription = sink.asFlux()
+                .bufferTimeout(maxSize, window, true)
+                .flatMap(this::send, maxConcurrentBatches)
+                .subscribe(null, this::restart);
+    }
+
+    private void restart(Throwable error) {
+        log.error("NLU batching pipeline failed, restarting it", error);
+        outstanding.forEach(p -> p.result().completeExceptionally(error));
+        if (!shutdown) {
+            start();
+        }
+    }
+
+    public Mono<NluResponse> classify(String message) {
+        if (!enabled) {
+            return nluClient.classify(message);
+        }
+        return Mono.defer(() -> {
+            Pending request = new Pending(message, new CompletableFuture<>());
+            outstanding.add(request);
+            request.result().whenComplete((response, error) -> outstanding.remove(request));
+            Sinks.EmitResult emitted = emit(request);
+            if (emitted.isFailure()) {
+                request.result().completeExceptionally(
+                        new IllegalStateException("NLU batcher rejected request: " + emitted));
+            }
+            return Mono.fromFuture(request.result(), true);
+        });
+    }
+
+    /**
+     * Callers on many event-loop threads emit concurrently, so emissions take a short
+     * lock instead of spinning on {@code FAIL_NON_SERIALIZED}. An emission that raced a
+     * pipeline restart is retried once per restart.
+     */
+    private Sinks.EmitResult emit(Pending request) {
+        Sinks.Many<Pending> sink;
+        Sinks.EmitResult emitted;
+        do {
+            sink = pending;
+            synchronized (emitLock) {
+                emitted = sink.tryEmitNext(request);
+            }
+        } while (emitted.isFailure() && sink != pending);
+        return emitted;
+    }
+
+    private Mono<Void> send(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<String> messages = batch.stream().map(Pending::message).toList();
+        return nluClient.classifyBatch(messages)
+                .doOnNext(results -> {
+                    if (results.size() != batch.size()) {
+                        throw new IllegalStateException("NLU batch returned " + results.size()
+                                + " results for " + batch.size() + " messages");
+                    }
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result().complete(results.get(i));
+                    }
+                })
+                .doOnError(error -> batch.forEach(p -> p.result().completeExceptionally(error)))
+                .onErrorResume(error -> Mono.empty())
+                // Empty or cancelled calls leave callers without a result; no-op for the completed ones
+                .doFinally(signal -> batch.forEach(p -> p.result().completeExceptionally(
+                        new IllegalStateException("NLU batch returned no result (" + signal + ")"))))
+                .then();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        if (subscription != null) {
+            synchronized (emitLock) {
+                pending.tryEmitComplete();
+            }
+            subscription.dispose();
+        }
+    }
+}
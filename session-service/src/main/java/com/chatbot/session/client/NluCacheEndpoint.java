@@ -0,0 +1,39 @@
+package com.chatbot.session.client;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint to inspect the classification cache and to invalidate it
+ * when intent definitions in the NLU service change.
+ */
+@Component
+@Endpoint(id = "nlucache")
+@RequiredArgsConstructor
+public class NluCacheEndpoint {
+
+    private final NluResultCache nluResultCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = nluResultCache.stats();
+        return Map.of(
+                "size", nluResultCache.size(),
+                "hitCount", stats.hitCount(),
+                "missCount", stats.missCount(),
+                "hitRatio", stats.hitRate(),
+                "evictionCount", stats.evictionCount()
+        );
+    }
+
+    @DeleteOperation
+    public void invalidate() {
+        nluResultCache.invalidateAll();
+    }
+}
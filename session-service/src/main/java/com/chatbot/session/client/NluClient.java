@@ -0,0 +1,155 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluBatchRequest;
+import com.chatbot.session.dto.NluBatchResponse;
+import com.chatbot.session.dto.NluRequest;
+import com.chatbot.session.dto.NluResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shared client for the NLU service. Holds one pooled, keep-alive connection
+ * pool for the lifetime of the application, applies a deadline to every call,
+ * optionally hedges slow calls, and fails fast through a circuit breaker while
+ * the NLU service is unhealthy. Errors are propagated so the caller decides on
+ * the fallback.
+ */
+@Slf4j
+@Component
+public class NluClient {
+
+    private static final String CLASSIFY_URI = "/api/nlu/classify";
+    private static final String CLASSIFY_BATCH_URI = "/api/nlu/classify/batch";
+
+    private final WebClient webClient;
+    private final NluClientProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public NluClient(
+            WebClient.Builder webClientBuilder,
+            NluClientProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${nlu.service.url:http://nlu-service:8000}") String nluServiceUrl) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("nlu-client")
+                .maxConnections(properties.getMaxConnections())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getCallTimeout());
+
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(nluServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        NluClientProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = CircuitBreaker.of("nlu-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .build());
+        this.circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("NLU circuit breaker: {}", event.getStateTransition()));
+    }
+
+    public Mono<NluResponse> classify(String message) {
+        return guarded("classify", hedged(new NluRequest(message)));
+    }
+
+    /**
+     * Classifies several messages with one call to the batch endpoint.
+     * Results are returned in the order of the given messages.
+     */
+    public Mono<List<NluResponse>> classifyBatch(List<String> messages) {
+        Mono<List<NluResponse>> call = webClient.post()
+                .uri(CLASSIFY_BATCH_URI)
+                .bodyValue(new NluBatchRequest(messages))
+                .retrieve()
+                .bodyToMono(NluBatchResponse.class)
+                .map(NluBatchResponse::getResults);
+        return guarded("classify_batch", call);
+    }
+
+    private <T> Mono<T> guarded(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .timeout(properties.getCallTimeout())
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnSuccess(response -> sample.stop(timer(operation, "success")))
+                    .doOnError(error -> sample.stop(timer(operation, outcomeOf(error))));
+        });
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private Mono<NluResponse> hedged(NluRequest request) {
+        Mono<NluResponse> primary = send(request);
+        if (properties.getHedgeDelay().isZero()) {
+            return primary;
+        }
+        Mono<NluResponse> hedge = Mono.delay(properties.getHedgeDelay())
+                .then(Mono.defer(() -> {
+                    meterRegistry.counter("nlu.client.hedged").increment();
+                    return send(request);
+                }));
+        return Mono.firstWithValue(primary, hedge);
+    }
+
+    private Mono<NluResponse> send(NluRequest request) {
+        return webClient.post()
+                .uri(CLASSIFY_URI)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(NluResponse.class);
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("nlu.client.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Short, bounded name for a failed call, usable as a metric tag.
+     */
+    public static String outcomeOf(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return "rejected";
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,37 @@
+package com.chatbot.session.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "nlu.client")
+public class NluClientProperties {
+
+    private int maxConnections = 200;
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration pendingAcquireTimeout = Duration.ofMillis(500);
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    private Duration callTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Delay after which a second, hedged request is sent if the first has not answered.
+     * Zero disables hedging.
+     */
+    private Duration hedgeDelay = Duration.ZERO;
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,95 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Caches classification results by normalized message text so repeated phrases
+ * skip the NLU round trip. Only successful classifications are cached; failed
+ * loads are dropped and retried on the next request.
+ */
+@Slf4j
+@Component
+public class NluResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\p{Punct}\\s]+$");
+
+    public enum Normalization {
+        /** Message text is used as is. */
+        EXACT,
+        /** Trimmed, lower-cased and with whitespace runs collapsed. */
+        CASE_INSENSITIVE,
+        /** As {@link #CASE_INSENSITIVE}, and trailing punctuation is ignored ("Thanks!" == "thanks"). */
+        LENIENT
+    }
+
+    private final AsyncCache<String, NluResponse> cache;
+    private final boolean enabled;
+    private final Normalization normalization;
+
+    public NluResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${nlu.cache.enabled:true}") boolean enabled,
+            @Value("${nlu.cache.maximum-size:10000}") long maximumSize,
+            @Value("${nlu.cache.time-to-live:10m}") Duration timeToLive,
+            @Value("${nlu.cache.normalization:CASE_INSENSITIVE}") Normalization normalization) {
+        this.enabled = enabled;
+        this.normalization = normalization;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "nlu.classifications");
+    }
+
+    public Mono<NluResponse> get(String message, Function<String, Mono<NluResponse>> classifier) {
+        if (!enabled) {
+            return classifier.apply(message);
+        }
+        String key = normalize(message);
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> classifier.apply(message).toFuture()), true);
+    }
+
+    /**
+     * Drops all cached classifications, e.g. after intent definitions changed.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+        log.info("Invalidated NLU classification cache");
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    String normalize(String message) {
+        return switch (normalization) {
+            case EXACT -> message;
+            case CASE_INSENSITIVE -> collapse(message);
+            case LENIENT -> TRAILING_PUNCTUATION.matcher(collapse(message)).replaceAll("");
+        };
+    }
+
+    private static String collapse(String message) {
+        return WHITESPACE.matcher(message.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,15 +1,22 @@
 package com.chatbot.session.controller;
 
+import com.chatbot.session.dto.ChatEvent;
 import com.chatbot.session.dto.ChatRequest;
 import com.chatbot.session.dto.ChatResponse;
 import com.chatbot.session.service.ChatService;
+import com.chatbot.session.service.IdempotencyKeyReusedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.util.Locale;
 
 @Slf4j
 @RestController
@@ -28,16 +35,37 @@ public class ChatController {
         
         return chatService.processMessage(request, userId)
                 .map(ResponseEntity::ok)
+                .onErrorResume(IdempotencyKeyReusedException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build()))
                 .onErrorReturn(ResponseEntity.status(500).build());
     }
 
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatEvent>> streamMessage(
+            @Valid @RequestBody ChatRequest request,
+            @RequestHeader("X-User-Id") String userId) {
+        
+        log.info("Received streaming chat message from user: {}", userId);
+        
+        return chatService.streamMessage(request, userId)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType().name().toLowerCase(Locale.ROOT))
+                        .build())
+                .onErrorResume(error -> {
+                    log.error("Streaming chat message failed", error);
+                    return Flux.just(ServerSentEvent.<ChatEvent>builder().event("error").build());
+                });
+    }
+
     @PostMapping("/message/public")
     public Mono<ResponseEntity<ChatResponse>> sendMessagePublic(
             @Valid @RequestBody ChatRequest request) {
         
         log.info("Received public chat message");
         
-        // Use demo user for public access
+        // Use demo user for public access. All anonymous callers share it, so their
+        // idempotency keys would collide; public turns are not deduplicated
+        request.setIdempotencyKey(null);
         return chatService.processMessage(request, "demo")
                 .map(ResponseEntity::ok)
                 .onErrorReturn(ResponseEntity.status(500).build());
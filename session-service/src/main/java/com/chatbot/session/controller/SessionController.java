@@ -1,15 +1,18 @@
 package com.chatbot.session.controller;
 
+import com.chatbot.session.dto.SessionSummary;
+import com.chatbot.session.dto.SessionWindow;
 import com.chatbot.session.model.Session;
 import com.chatbot.session.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequestMapping("/api/sessions")
@@ -21,24 +24,40 @@ public class SessionController {
     @PostMapping
     public Mono<ResponseEntity<Session>> createSession(@RequestHeader("X-User-Id") String userId) {
         log.info("Creating new session for user: {}", userId);
-        Session session = sessionService.createSession(userId);
-        return Mono.just(ResponseEntity.ok(session));
+        return sessionService.createSession(userId)
+                .map(ResponseEntity::ok);
     }
 
+    /**
+     * The session with its latest {@code limit} messages. Pass {@code olderCursor}
+     * from the response as {@code before} to scroll further back.
+     */
     @GetMapping("/{sessionId}")
-    public Mono<ResponseEntity<Session>> getSession(
+    public Mono<ResponseEntity<SessionWindow>> getSession(
             @PathVariable String sessionId,
-            @RequestHeader("X-User-Id") String userId) {
-        
-        return sessionService.getSession(sessionId, userId)
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        return sessionService.getSessionWindow(sessionId, userId, before, limit)
                 .map(ResponseEntity::ok)
-                .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()));
+                .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
+    /**
+     * One page of session summaries, newest activity first. Pass the {@code cursor}
+     * of the last entry as {@code before} to get the next page.
+     */
     @GetMapping
-    public Mono<ResponseEntity<List<Session>>> getUserSessions(@RequestHeader("X-User-Id") String userId) {
-        List<Session> sessions = sessionService.getUserSessions(userId);
-        return Mono.just(ResponseEntity.ok(sessions));
+    public Flux<SessionSummary> getUserSessions(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int limit) {
+        return sessionService.getUserSessions(userId, before, limit)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
     }
 
     @DeleteMapping("/{sessionId}")
@@ -46,7 +65,7 @@ public class SessionController {
             @PathVariable String sessionId,
             @RequestHeader("X-User-Id") String userId) {
         
-        sessionService.terminateSession(sessionId, userId);
-        return Mono.just(ResponseEntity.ok().build());
+        return sessionService.terminateSession(sessionId, userId)
+                .then(Mono.just(ResponseEntity.ok().build()));
     }
 }
@@ -0,0 +1,56 @@
+package com.chatbot.session.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One step of a streamed chat turn. Only the fields belonging to the event type are set.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatEvent {
+
+    public enum Type {
+        /** The user message was stored; carries the session and message ids. */
+        ACK,
+        /** The message was classified; carries intent, confidence and entities. */
+        INTENT,
+        /** The bot answer; carries the response text and suggestions. */
+        RESPONSE
+    }
+
+    @JsonIgnore
+    private final Type type;
+    private final String sessionId;
+    private final String messageId;
+    private LocalDateTime timestamp = LocalDateTime.now();
+    private String intent;
+    private Double confidence;
+    private Map<String, Object> entities;
+    private String response;
+    private List<String> suggestions;
+
+    public static ChatEvent ack(String sessionId, String messageId) {
+        return new ChatEvent(Type.ACK, sessionId, messageId);
+    }
+
+    public static ChatEvent intent(String sessionId, String messageId, NluResponse nluResponse) {
+        ChatEvent event = new ChatEvent(Type.INTENT, sessionId, messageId);
+        event.setIntent(nluResponse.getIntent());
+        event.setConfidence(nluResponse.getConfidence());
+        event.setEntities(nluResponse.getEntities());
+        return event;
+    }
+
+    public static ChatEvent response(String sessionId, String messageId, String response, List<String> suggestions) {
+        ChatEvent event = new ChatEvent(Type.RESPONSE, sessionId, messageId);
+        event.setResponse(response);
+        event.setSuggestions(suggestions);
+        return event;
+    }
+}
@@ -2,7 +2,9 @@ package com.chatbot.session.dto;
 
 import lombok.Data;
 
-import javax.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.util.Map;
 
 @Data
 public class ChatRequest {
@@ -13,4 +15,8 @@ public class ChatRequest {
     private String sessionId;
     private String userId;
     private Map<String, Object> context;
+
+    /** Set by clients that may retry; a retry with the same key gets the original response. */
+    @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+    private String idempotencyKey;
 }
@@ -0,0 +1,15 @@
+package com.chatbot.session.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NluBatchRequest {
+    
+    private List<String> messages;
+}
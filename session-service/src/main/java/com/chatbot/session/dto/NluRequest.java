@@ -0,0 +1,13 @@
+package com.chatbot.session.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NluRequest {
+    
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.chatbot.session.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NluResponse {
+    
+    private String intent;
+    private Double confidence;
+    private Map<String, Object> entities;
+}
@@ -0,0 +1,28 @@
+package com.chatbot.session.dto;
+
+import com.chatbot.session.model.Session;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a session without its message history. {@code cursor} is passed back
+ * as {@code before} to fetch the page that follows this entry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSummary {
+
+    @Id
+    private String sessionId;
+    private Session.SessionStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivity;
+    private int messageCount;
+    private String lastMessagePreview;
+    private String cursor;
+}
@@ -0,0 +1,67 @@
+package com.chatbot.session.dto;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A session with only a window of its history. Messages are addressed by their
+ * position in the append-only history: the window holds positions
+ * {@code [start, before)}, and {@code olderCursor} is the {@code before} value for
+ * the window preceding it, or {@code null} once the start has been reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionWindow {
+
+    @Id
+    private String sessionId;
+    private String userId;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivity;
+    private Session.SessionStatus status;
+    private Map<String, Object> context;
+    private String currentIntent;
+    private Map<String, Object> entities;
+    private int messageCount;
+    private List<ConversationMessage> messages;
+    private Integer olderCursor;
+
+    /**
+     * First position of the window ending before {@code before}, or at the end of
+     * the history when {@code before} is {@code null}. {@code before} must be positive.
+     */
+    public static int windowStart(Integer before, int messageCount, int limit) {
+        int end = before != null ? before : messageCount;
+        return Math.max(end - limit, 0);
+    }
+
+    public static SessionWindow of(Session session, Integer before, int limit) {
+        List<ConversationMessage> history = session.getMessages() != null ? session.getMessages() : List.of();
+        int count = history.size();
+        int start = windowStart(before, count, limit);
+        int end = Math.min(before != null ? before : count, count);
+        List<ConversationMessage> window = start < end ? List.copyOf(history.subList(start, end)) : List.of();
+        return new SessionWindow(
+                session.getSessionId(),
+                session.getUserId(),
+                session.getCreatedAt(),
+                session.getLastActivity(),
+                session.getStatus(),
+                session.getContext(),
+                session.getCurrentIntent(),
+                session.getEntities(),
+                count,
+                window,
+                start > 0 ? start : null
+        );
+    }
+}
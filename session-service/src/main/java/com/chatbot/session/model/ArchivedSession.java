@@ -0,0 +1,49 @@
+package com.chatbot.session.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cold session moved out of the live collection. Its history is stored as
+ * consecutive compressed blocks so that a window of messages only needs the
+ * blocks it overlaps to be inflated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "sessions_archive")
+public class ArchivedSession {
+
+    @Id
+    private String sessionId;
+    private String userId;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastActivity;
+    private Session.SessionStatus status;
+    private Map<String, Object> context;
+    private String currentIntent;
+    private Map<String, Object> entities;
+    private int messageCount;
+    private List<MessageBlock> messageBlocks;
+    private LocalDateTime archivedAt;
+
+    /**
+     * Messages {@code [firstIndex, firstIndex + count)} of the history, serialized
+     * as JSON and gzip-compressed.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MessageBlock {
+        private int firstIndex;
+        private int count;
+        private byte[] data;
+    }
+}
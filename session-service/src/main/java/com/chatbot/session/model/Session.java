@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,10 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "sessions")
+// Listing a user's sessions, newest activity first (keyset-paginated on lastActivity, _id)
+@CompoundIndex(name = "user_last_activity", def = "{'userId': 1, 'lastActivity': -1, '_id': -1}")
+// Expiry sweeps: idle sessions in a given status
+@CompoundIndex(name = "status_last_activity", def = "{'status': 1, 'lastActivity': 1}")
 public class Session {
     
     @Id
@@ -0,0 +1,12 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.model.ArchivedSession;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ArchivedSessionRepository extends ReactiveMongoRepository<ArchivedSession, String> {
+
+    Mono<ArchivedSession> findBySessionIdAndUserId(String sessionId, String userId);
+}
@@ -0,0 +1,48 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.model.Session;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the mapped documents at startup. Index creation
+ * is idempotent, so every replica can run it; Boot's auto-index-creation stays off
+ * so that this is the only place indexes come from.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexInitializer {
+
+    static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Session.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureIndexes().subscribe(
+                null,
+                e -> log.warn("Could not create indexes: {}", e.getMessage()));
+    }
+
+    public Mono<Void> ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        return Flux.fromIterable(INDEXED_DOCUMENTS)
+                .concatMap(type -> Flux.fromIterable(resolver.resolveIndexFor(type))
+                        .concatMap(index -> mongoTemplate.indexOps(type).ensureIndex(index))
+                        .doOnNext(name -> log.debug("Ensured index {} on {}", name, type.getSimpleName())))
+                .then();
+    }
+}
@@ -0,0 +1,58 @@
+package com.chatbot.session.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Time-bound leases in the {@code leases} collection, used to let exactly one
+ * replica run a periodic job. A lease is taken over once it has expired, so a
+ * crashed holder only delays the job by at most one lease duration.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaseStore {
+
+    static final String COLLECTION = "leases";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Acquires or renews the named lease for {@code owner}.
+     *
+     * @return {@code true} if {@code owner} holds the lease until now + {@code duration}
+     */
+    public Mono<Boolean> tryAcquire(String name, String owner, Duration duration) {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("owner").is(owner),
+                Criteria.where("expiresAt").lt(Date.from(now))));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", Date.from(now.plus(duration)));
+
+        // Upsert creates the lease the first time; while another owner holds it the
+        // upsert collides with the existing _id instead
+        return mongoTemplate.findAndModify(query, update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION)
+                .map(lease -> owner.equals(lease.getString("owner")))
+                .defaultIfEmpty(false)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+    }
+
+    public Mono<Void> release(String name, String owner) {
+        Query query = Query.query(Criteria.where("_id").is(name).and("owner").is(owner));
+        return mongoTemplate.remove(query, COLLECTION).then();
+    }
+}
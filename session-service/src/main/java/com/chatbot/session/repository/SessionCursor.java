@@ -0,0 +1,36 @@
+package com.chatbot.session.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a listing ordered by {@code lastActivity} then {@code _id}, both
+ * descending. Encoded as an opaque URL-safe token for clients.
+ */
+public record SessionCursor(LocalDateTime lastActivity, String sessionId) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = lastActivity + String.valueOf(SEPARATOR) + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SessionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed session cursor");
+            }
+            return new SessionCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed session cursor", e);
+        }
+    }
+}
@@ -1,21 +1,21 @@
 package com.chatbot.session.repository;
 
 import com.chatbot.session.model.Session;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface SessionRepository extends MongoRepository<Session, String> {
+public interface SessionRepository extends ReactiveMongoRepository<Session, String>, SessionRepositoryCustom {
     
-    Optional<Session> findBySessionIdAndUserId(String sessionId, String userId);
+    Mono<Session> findBySessionIdAndUserId(String sessionId, String userId);
     
-    List<Session> findByUserId(String userId);
+    Flux<Session> findByUserId(String userId);
     
-    List<Session> findByStatusAndLastActivityBefore(Session.SessionStatus status, LocalDateTime cutoff);
+    Flux<Session> findByStatusAndLastActivityBefore(Session.SessionStatus status, LocalDateTime cutoff);
     
-    void deleteBySessionId(String sessionId);
+    Mono<Void> deleteBySessionId(String sessionId);
 }
@@ -0,0 +1,86 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.dto.SessionSummary;
+import com.chatbot.session.dto.SessionWindow;
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SessionRepositoryCustom {
+
+    /**
+     * Appends a message to the embedded history with an in-place {@code $push}
+     * instead of rewriting the whole document.
+     *
+     * @return {@code true} if a session matching the id and user was updated
+     */
+    Mono<Boolean> appendMessage(String sessionId, String userId, ConversationMessage message);
+
+    /**
+     * Sets the status of a single session without touching its history.
+     *
+     * @return {@code true} if a session matching the id and user was updated
+     */
+    Mono<Boolean> updateStatus(String sessionId, String userId, Session.SessionStatus status);
+
+    /**
+     * Applies a batch of appends as one ordered bulk write, so messages queued
+     * for the same session keep their relative order.
+     *
+     * @return the number of sessions that matched an append
+     */
+    Mono<Integer> appendMessages(List<MessageAppend> appends);
+
+    /**
+     * Lists a user's sessions, most recently active first, without loading their
+     * message histories. Only the count and the last message's content are computed
+     * server-side.
+     *
+     * @param before the position to continue after, or {@code null} for the first page
+     */
+    Flux<SessionSummary> findSummariesByUserId(String userId, SessionCursor before, int limit);
+
+    /**
+     * Loads a session with at most {@code limit} messages ending before position
+     * {@code before} (or the latest ones when it is {@code null}). The history is
+     * sliced server-side, so the rest of it is never transferred.
+     */
+    Mono<SessionWindow> findWindow(String sessionId, String userId, Integer before, int limit);
+
+    /**
+     * Finds up to {@code limit} sessions in {@code status} idle since before
+     * {@code cutoff}. Only the id and user id are loaded.
+     */
+    Flux<Session> findIdleSessionRefs(Session.SessionStatus status, LocalDateTime cutoff, int limit);
+
+    /**
+     * Moves the given sessions from {@code from} to {@code to} in one multi-update.
+     * Sessions that changed status or saw activity since {@code cutoff} are left alone.
+     *
+     * @return the number of sessions updated
+     */
+    Mono<Long> transitionIdleSessions(Collection<String> sessionIds, Session.SessionStatus from,
+                                      Session.SessionStatus to, LocalDateTime cutoff);
+
+    /**
+     * Finds up to {@code limit} whole sessions in one of {@code statuses} whose last
+     * activity is before {@code cutoff}, for archival.
+     */
+    Flux<Session> findColdSessions(Collection<Session.SessionStatus> statuses, LocalDateTime cutoff, int limit);
+
+    /**
+     * Deletes a session only if its {@code lastActivity} still equals the given value,
+     * i.e. nothing was appended since it was read.
+     *
+     * @return {@code true} if the session was deleted
+     */
+    Mono<Boolean> deleteIfUnchanged(String sessionId, LocalDateTime lastActivity);
+
+    record MessageAppend(String sessionId, String userId, ConversationMessage message) {
+    }
+}
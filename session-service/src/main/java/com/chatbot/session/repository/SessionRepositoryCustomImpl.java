@@ -0,0 +1,165 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.dto.SessionSummary;
+import com.chatbot.session.dto.SessionWindow;
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SessionRepositoryCustomImpl implements SessionRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Boolean> appendMessage(String sessionId, String userId, ConversationMessage message) {
+        Update update = new Update()
+                .push("messages", message)
+                .set("lastActivity", LocalDateTime.now());
+
+        return mongoTemplate.updateFirst(bySessionAndUser(sessionId, userId), update, Session.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> updateStatus(String sessionId, String userId, Session.SessionStatus status) {
+        Update update = Update.update("status", status);
+
+        return mongoTemplate.updateFirst(bySessionAndUser(sessionId, userId), update, Session.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Integer> appendMessages(List<MessageAppend> appends) {
+        if (appends.isEmpty()) {
+            return Mono.just(0);
+        }
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.ORDERED, Session.class);
+        for (MessageAppend append : appends) {
+            Update update = new Update()
+                    .push("messages", append.message())
+                    .set("lastActivity", LocalDateTime.now());
+            bulk.updateOne(bySessionAndUser(append.sessionId(), append.userId()), update);
+        }
+        return bulk.execute()
+                .map(BulkWriteResult::getMatchedCount);
+    }
+
+    @Override
+    public Flux<SessionSummary> findSummariesByUserId(String userId, SessionCursor before, int limit) {
+        return mongoTemplate.aggregate(summariesAggregation(userId, before, limit), Session.class, SessionSummary.class);
+    }
+
+    static Aggregation summariesAggregation(String userId, SessionCursor before, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (before != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("lastActivity").lt(before.lastActivity()),
+                    Criteria.where("lastActivity").is(before.lastActivity()).and("_id").lt(before.sessionId()));
+        }
+
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "lastActivity", "_id")),
+                Aggregation.limit(limit),
+                Aggregation.project("status", "createdAt", "lastActivity")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("messages").then(List.of())))
+                        .as("messageCount")
+                        .and(ArrayOperators.ArrayElemAt.arrayOf("messages.content").elementAt(-1))
+                        .as("lastMessagePreview"));
+    }
+
+    @Override
+    public Mono<SessionWindow> findWindow(String sessionId, String userId, Integer before, int limit) {
+        return mongoTemplate.aggregate(windowAggregation(sessionId, userId, before, limit), Session.class, SessionWindow.class)
+                .next()
+                .doOnNext(result -> {
+                    int start = SessionWindow.windowStart(before, result.getMessageCount(), limit);
+                    result.setOlderCursor(start > 0 ? start : null);
+                });
+    }
+
+    static Aggregation windowAggregation(String sessionId, String userId, Integer before, int limit) {
+        AggregationExpression history = ConditionalOperators.ifNull("messages").then(List.of());
+        ArrayOperators.Slice window;
+        if (before == null) {
+            window = ArrayOperators.arrayOf(history).slice().itemCount(-limit);
+        } else {
+            int start = Math.max(before - limit, 0);
+            window = ArrayOperators.arrayOf(history).slice().offset(start).itemCount(before - start);
+        }
+
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(sessionId).and("userId").is(userId)),
+                Aggregation.addFields()
+                        .addFieldWithValue("messageCount", ArrayOperators.Size.lengthOfArray(history))
+                        .addFieldWithValue("messages", window)
+                        .build());
+    }
+
+    @Override
+    public Flux<Session> findIdleSessionRefs(Session.SessionStatus status, LocalDateTime cutoff, int limit) {
+        return mongoTemplate.find(idleSessionRefsQuery(status, cutoff, limit), Session.class);
+    }
+
+    static Query idleSessionRefsQuery(Session.SessionStatus status, LocalDateTime cutoff, int limit) {
+        Query query = Query.query(Criteria.where("status").is(status).and("lastActivity").lt(cutoff))
+                .limit(limit);
+        query.fields().include("_id", "userId");
+        return query;
+    }
+
+    @Override
+    public Mono<Long> transitionIdleSessions(Collection<String> sessionIds, Session.SessionStatus from,
+                                             Session.SessionStatus to, LocalDateTime cutoff) {
+        if (sessionIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        Query query = Query.query(Criteria.where("_id").in(sessionIds)
+                .and("status").is(from)
+                .and("lastActivity").lt(cutoff));
+        return mongoTemplate.updateMulti(query, Update.update("status", to), Session.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    @Override
+    public Flux<Session> findColdSessions(Collection<Session.SessionStatus> statuses, LocalDateTime cutoff, int limit) {
+        return mongoTemplate.find(coldSessionsQuery(statuses, cutoff, limit), Session.class);
+    }
+
+    static Query coldSessionsQuery(Collection<Session.SessionStatus> statuses, LocalDateTime cutoff, int limit) {
+        return Query.query(Criteria.where("status").in(statuses).and("lastActivity").lt(cutoff))
+                .limit(limit);
+    }
+
+    @Override
+    public Mono<Boolean> deleteIfUnchanged(String sessionId, LocalDateTime lastActivity) {
+        Query query = Query.query(Criteria.where("_id").is(sessionId).and("lastActivity").is(lastActivity));
+        return mongoTemplate.remove(query, Session.class)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    private static Query bySessionAndUser(String sessionId, String userId) {
+        return Query.query(Criteria.where("_id").is(sessionId).and("userId").is(userId));
+    }
+}
@@ -0,0 +1,102 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Remembers chat responses by idempotency key for a bounded time window, so a
+ * retried submission gets the original response without another NLU call or Mongo
+ * write. A retry that arrives while the first attempt is still running joins it.
+ * Keys are scoped per user; failed attempts are dropped so a retry runs again.
+ * Each key remembers the session and message it was first used with, and a reuse
+ * with a different payload is rejected rather than answered with another turn's
+ * response.
+ */
+@Component
+public class ChatIdempotencyStore {
+
+    private record Key(String userId, String idempotencyKey) {
+    }
+
+    private record Attempt(String sessionId, String message, CompletableFuture<ChatResponse> response) {
+
+        /** A retry of a turn that opened a new session may name the session it created. */
+        boolean sameSubmissionAs(Attempt retry) {
+            return message.equals(retry.message())
+                    && (sessionId == null || sessionId.equals(retry.sessionId()));
+        }
+    }
+
+    private final Cache<Key, Attempt> attempts;
+    private final boolean enabled;
+
+    public ChatIdempotencyStore(
+            MeterRegistry meterRegistry,
+            @Value("${chat.idempotency.enabled:true}") boolean enabled,
+            @Value("${chat.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${chat.idempotency.window:10m}") Duration window) {
+        this.enabled = enabled;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, attempts, "chat.idempotency");
+    }
+
+    /**
+     * Runs {@code submission} unless a submission with the same key from the same user
+     * already ran within the window. Without a key every call runs. A key reused for
+     * a different message or session fails with {@link IdempotencyKeyReusedException}.
+     * A subscriber that cancels does not cancel the submission, which still completes
+     * for later retries.
+     */
+    public Mono<ChatResponse> submit(String userId, ChatRequest request, Supplier<Mono<ChatResponse>> submission) {
+        String idempotencyKey = request.getIdempotencyKey();
+        if (!enabled || idempotencyKey == null || idempotencyKey.isBlank()) {
+            return submission.get();
+        }
+        Key key = new Key(userId, idempotencyKey);
+        return Mono.defer(() -> {
+            Attempt attempt = new Attempt(request.getSessionId(), request.getMessage(), new CompletableFuture<>());
+            Attempt existing = attempts.asMap().putIfAbsent(key, attempt);
+            if (existing == null) {
+                run(key, attempt, submission);
+            } else if (!existing.sameSubmissionAs(attempt)) {
+                return Mono.error(new IdempotencyKeyReusedException(idempotencyKey));
+            } else {
+                attempt = existing;
+            }
+            return Mono.fromFuture(attempt.response(), true);
+        });
+    }
+
+    private void run(Key key, Attempt attempt, Supplier<Mono<ChatResponse>> submission) {
+        Mono.defer(submission).toFuture().whenComplete((response, error) -> {
+            // Forget failed or empty attempts before waiting retries see the outcome
+            if (error != null || response == null) {
+                attempts.asMap().remove(key, attempt);
+            }
+            if (error != null) {
+                attempt.response().completeExceptionally(error);
+            } else {
+                attempt.response().complete(response);
+            }
+        });
+    }
+
+    public long size() {
+        return attempts.estimatedSize();
+    }
+}
@@ -1,19 +1,28 @@
 package com.chatbot.session.service;
 
+import com.chatbot.session.client.LocalIntentClassifier;
+import com.chatbot.session.client.NluBatcher;
+import com.chatbot.session.client.NluClient;
+import com.chatbot.session.client.NluResultCache;
+import com.chatbot.session.dto.ChatEvent;
 import com.chatbot.session.dto.ChatRequest;
 import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.dto.NluResponse;
 import com.chatbot.session.model.ConversationMessage;
-import com.chatbot.session.model.Session;
+import com.chatbot.session.service.ChatTurnTimings.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -22,70 +31,118 @@ import java.util.UUID;
 public class ChatService {
 
     private final SessionService sessionService;
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${nlu.service.url:http://nlu-service:8000}")
-    private String nluServiceUrl;
-
+    private final NluBatcher nluBatcher;
+    private final NluResultCache nluResultCache;
+    private final LocalIntentClassifier localIntentClassifier;
+    private final MeterRegistry meterRegistry;
+    private final ChatIdempotencyStore idempotencyStore;
+
+    /**
+     * Runs one chat turn. A request carrying an idempotency key that was already
+     * submitted within the dedup window gets the original response instead; reusing
+     * it for a different message fails with {@link IdempotencyKeyReusedException}.
+     */
     public Mono<ChatResponse> processMessage(ChatRequest request, String userId) {
+        return idempotencyStore.submit(userId, request, () -> process(request, userId));
+    }
+
+    private Mono<ChatResponse> process(ChatRequest request, String userId) {
         log.info("Processing message from user: {} - {}", userId, request.getMessage());
+        ChatTurnTimings timings = new ChatTurnTimings(meterRegistry);
 
         // Add user message to session
-        ConversationMessage userMessage = new ConversationMessage(
-                request.getMessage(), 
-                ConversationMessage.MessageType.USER, 
+        return timings.time(Stage.USER_MESSAGE,
+                        sessionService.addMessageToSession(request.getSessionId(), userId, userMessage(request, userId)))
+                .flatMap(sessionId -> callNluService(request.getMessage(), timings)
+                        .flatMap(nluResponse -> {
+                            // Create bot response
+                            String botResponse = timings.time(Stage.RESPONSE,
+                                    () -> generateBotResponse(nluResponse.getIntent(), nluResponse.getConfidence()));
+
+                            // Add bot message to session
+                            return timings.time(Stage.BOT_MESSAGE,
+                                            sessionService.queueMessageToSession(sessionId, userId, botMessage(botResponse, nluResponse)))
+                                    .map(savedSessionId -> new ChatResponse(
+                                            savedSessionId,
+                                            UUID.randomUUID().toString(),
+                                            botResponse,
+                                            nluResponse.getIntent(),
+                                            nluResponse.getConfidence(),
+                                            nluResponse.getEntities(),
+                                            LocalDateTime.now(),
+                                            generateSuggestions(nluResponse.getIntent())
+                                    ));
+                        }))
+                .doFinally(timings::finish);
+    }
+
+    /**
+     * Streaming variant of {@link #processMessage}: emits an acknowledgement once the
+     * user message is stored, the classification as soon as NLU answers, and the bot
+     * response before the bot message is persisted. The stream completes after the
+     * bot message has been handed to the session store.
+     */
+    public Flux<ChatEvent> streamMessage(ChatRequest request, String userId) {
+        log.info("Streaming message from user: {} - {}", userId, request.getMessage());
+        String messageId = UUID.randomUUID().toString();
+        ChatTurnTimings timings = new ChatTurnTimings(meterRegistry);
+
+        return timings.time(Stage.USER_MESSAGE,
+                        sessionService.addMessageToSession(request.getSessionId(), userId, userMessage(request, userId)))
+                .flatMapMany(sessionId -> {
+                    Mono<NluResponse> classification = callNluService(request.getMessage(), timings).cache();
+                    Mono<Tuple2<String, NluResponse>> answer = classification
+                            .map(nluResponse -> Tuples.of(timings.time(Stage.RESPONSE,
+                                    () -> generateBotResponse(nluResponse.getIntent(), nluResponse.getConfidence())),
+                                    nluResponse))
+                            .cache();
+
+                    return Flux.concat(
+                            Mono.just(ChatEvent.ack(sessionId, messageId)),
+                            classification.map(nluResponse -> ChatEvent.intent(sessionId, messageId, nluResponse)),
+                            answer.map(tuple -> ChatEvent.response(sessionId, messageId, tuple.getT1(),
+                                    generateSuggestions(tuple.getT2().getIntent()))),
+                            answer.flatMap(tuple -> timings.time(Stage.BOT_MESSAGE, sessionService.queueMessageToSession(
+                                            sessionId, userId, botMessage(tuple.getT1(), tuple.getT2()))))
+                                    .then(Mono.empty())
+                    );
+                })
+                .doFinally(timings::finish);
+    }
+
+    private ConversationMessage userMessage(ChatRequest request, String userId) {
+        return new ConversationMessage(
+                request.getMessage(),
+                ConversationMessage.MessageType.USER,
                 userId
         );
-        
-        Session session = sessionService.addMessageToSession(
-                request.getSessionId(), userId, userMessage);
-
-        // Call NLU service for intent classification
-        return callNluService(request.getMessage())
-                .flatMap(nluResponse -> {
-                    // Create bot response
-                    String botResponse = generateBotResponse(nluResponse.getIntent(), nluResponse.getConfidence());
-                    
-                    // Add bot message to session
-                    ConversationMessage botMessage = new ConversationMessage(
-                            botResponse,
-                            ConversationMessage.MessageType.BOT,
-                            "bot"
-                    );
-                    botMessage.setIntent(nluResponse.getIntent());
-                    botMessage.setConfidence(nluResponse.getConfidence());
-                    botMessage.setEntities(nluResponse.getEntities());
-                    
-                    sessionService.addMessageToSession(session.getSessionId(), userId, botMessage);
-
-                    // Create response
-                    ChatResponse response = new ChatResponse(
-                            session.getSessionId(),
-                            UUID.randomUUID().toString(),
-                            botResponse,
-                            nluResponse.getIntent(),
-                            nluResponse.getConfidence(),
-                            nluResponse.getEntities(),
-                            LocalDateTime.now(),
-                            generateSuggestions(nluResponse.getIntent())
-                    );
+    }
 
-                    return Mono.just(response);
-                });
+    private ConversationMessage botMessage(String botResponse, NluResponse nluResponse) {
+        ConversationMessage botMessage = new ConversationMessage(
+                botResponse,
+                ConversationMessage.MessageType.BOT,
+                "bot"
+        );
+        botMessage.setIntent(nluResponse.getIntent());
+        botMessage.setConfidence(nluResponse.getConfidence());
+        botMessage.setEntities(nluResponse.getEntities());
+        return botMessage;
     }
 
-    private Mono<NluResponse> callNluService(String message) {
-        WebClient webClient = webClientBuilder.baseUrl(nluServiceUrl).build();
-        
-        NluRequest nluRequest = new NluRequest(message);
-        
-        return webClient.post()
-                .uri("/api/nlu/classify")
-                .bodyValue(nluRequest)
-                .retrieve()
-                .bodyToMono(NluResponse.class)
-                .doOnError(error -> log.error("Error calling NLU service", error))
-                .onErrorReturn(new NluResponse("unknown", 0.0, Map.of()));
+    private Mono<NluResponse> callNluService(String message, ChatTurnTimings timings) {
+        Optional<NluResponse> local = localIntentClassifier.classifyIfConfident(message);
+        Mono<NluResponse> classification = local.isPresent()
+                ? Mono.just(local.get())
+                : nluResultCache.get(message, nluBatcher::classify)
+                        .onErrorResume(error -> {
+                            log.warn("NLU classification failed, falling back to unknown intent: {}", error.toString());
+                            meterRegistry.counter("chat.nlu.fallback", "reason", NluClient.outcomeOf(error)).increment();
+                            timings.nluFallback();
+                            return Mono.just(new NluResponse("unknown", 0.0, Map.of()));
+                        });
+        return timings.time(Stage.NLU, classification)
+                .doOnNext(nluResponse -> timings.intent(nluResponse.getIntent()));
     }
 
     private String generateBotResponse(String intent, Double confidence) {
@@ -104,25 +161,4 @@ public class ChatService {
             default -> List.of("Try asking for help", "Say hello", "Ask a question");
         };
     }
-
-    // Inner classes for NLU communication
-    private static class NluRequest {
-        public String message;
-        
-        public NluRequest(String message) {
-            this.message = message;
-        }
-    }
-
-    private static class NluResponse {
-        public String intent;
-        public Double confidence;
-        public Map<String, Object> entities;
-
-        public NluResponse(String intent, Double confidence, Map<String, Object> entities) {
-            this.intent = intent;
-            this.confidence = confidence;
-            this.entities = entities;
-        }
-    }
 }
@@ -0,0 +1,117 @@
+package com.chatbot.session.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Collects the stage durations of one chat turn and records them when the turn ends,
+ * so every stage is tagged with the intent NLU settled on, including the stage that
+ * ran before it. Stages of a turn run one after the other, never concurrently.
+ */
+class ChatTurnTimings {
+
+    static final String NO_INTENT = "none";
+
+    enum Stage {
+        USER_MESSAGE("user_message"),
+        NLU("nlu"),
+        RESPONSE("response"),
+        BOT_MESSAGE("bot_message");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record Recorded(long nanos, String outcome) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long startNanos = System.nanoTime();
+    private final Map<Stage, Recorded> stages = new EnumMap<>(Stage.class);
+    private volatile String intent = NO_INTENT;
+    private volatile boolean nluFallback;
+
+    ChatTurnTimings(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    <T> Mono<T> time(Stage stage, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> record(stage, start, "success"))
+                    .doOnError(error -> record(stage, start, "error"));
+        });
+    }
+
+    <T> T time(Stage stage, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            record(stage, start, "success");
+            return result;
+        } catch (RuntimeException e) {
+            record(stage, start, "error");
+            throw e;
+        }
+    }
+
+    void intent(String intent) {
+        this.intent = intent;
+    }
+
+    /**
+     * Marks the NLU stage as answered by the "unknown" fallback instead of a classifier.
+     */
+    void nluFallback() {
+        this.nluFallback = true;
+    }
+
+    /**
+     * Records the stages that ran and the whole turn; meant for {@code doFinally}.
+     */
+    void finish(SignalType signal) {
+        String outcome = switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+        synchronized (stages) {
+            stages.forEach((stage, recorded) -> {
+                String stageOutcome = stage == Stage.NLU && nluFallback ? "fallback" : recorded.outcome();
+                timer("chat.stage", stageOutcome).tag("stage", stage.tag)
+                        .register(meterRegistry)
+                        .record(recorded.nanos(), TimeUnit.NANOSECONDS);
+            });
+        }
+        timer("chat.turn", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(Stage stage, long start, String outcome) {
+        synchronized (stages) {
+            stages.put(stage, new Recorded(System.nanoTime() - start, outcome));
+        }
+    }
+
+    private Timer.Builder timer(String name, String outcome) {
+        return Timer.builder(name)
+                .tag("intent", intent)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,12 @@
+package com.chatbot.session.service;
+
+/**
+ * Raised when a chat request reuses an idempotency key that was already submitted
+ * with a different message or session within the dedup window.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different message");
+    }
+}
@@ -0,0 +1,184 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.repository.SessionRepository;
+import com.chatbot.session.repository.SessionRepositoryCustom.MessageAppend;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Optional write-behind queue for messages whose durability may lag the response.
+ * Queued appends are flushed as ordered bulk writes once {@code max-batch-size}
+ * messages are waiting or every {@code flush-interval}, whichever comes first.
+ * When the queue is full the caller falls back to a direct write, so producers
+ * are slowed down instead of messages being dropped. Direct writes to a session
+ * wait for its queued messages first ({@link #awaitPending}), so Mongo keeps the
+ * conversation order. Pending messages are flushed on shutdown.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehind {
+
+    private final SessionRepository sessionRepository;
+    private final SessionCache sessionCache;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<MessageAppend> queue;
+    private final AtomicReference<Mono<Void>> inFlightFlush = new AtomicReference<>();
+    private final Map<String, Integer> pendingBySession = new ConcurrentHashMap<>();
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Disposable ticker;
+
+    public MessageWriteBehind(
+            SessionRepository sessionRepository,
+            SessionCache sessionCache,
+            MeterRegistry meterRegistry,
+            @Value("${session.write-behind.enabled:false}") boolean enabled,
+            @Value("${session.write-behind.max-batch-size:100}") int maxBatchSize,
+            @Value("${session.write-behind.flush-interval:50ms}") Duration flushInterval,
+            @Value("${session.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${session.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.sessionRepository = sessionRepository;
+        this.sessionCache = sessionCache;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writtenCounter = meterRegistry.counter("session.write_behind.messages", "outcome", "written");
+        this.failedCounter = meterRegistry.counter("session.write_behind.messages", "outcome", "failed");
+        this.overflowCounter = meterRegistry.counter("session.write_behind.messages", "outcome", "overflow");
+        meterRegistry.gauge("session.write_behind.queue", queue, BlockingQueue::size);
+        this.ticker = enabled
+                ? Flux.interval(flushInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> flush()
+                                .onErrorResume(e -> {
+                                    log.warn("Write-behind flush failed: {}", e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .subscribe()
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the append and completes immediately. When the queue is full the session's
+     * queued messages are written first and the append then goes directly to Mongo.
+     */
+    public Mono<Void> enqueue(String sessionId, String userId, ConversationMessage message) {
+        MessageAppend append = new MessageAppend(sessionId, userId, message);
+        pendingBySession.merge(sessionId, 1, Integer::sum);
+        if (!queue.offer(append)) {
+            release(sessionId);
+            overflowCounter.increment();
+            return awaitPending(sessionId)
+                    .then(Mono.defer(() -> sessionRepository.appendMessage(sessionId, userId, message)))
+                    .doOnNext(appended -> sessionCache.messageAppended(sessionId, userId, message))
+                    .then();
+        }
+        if (queue.size() >= maxBatchSize) {
+            flush().subscribe();
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Completes once no message of the session is queued or being written, flushing if
+     * needed. Direct appends to the session must wait for this to keep message order.
+     */
+    public Mono<Void> awaitPending(String sessionId) {
+        return Mono.defer(() -> pendingBySession.containsKey(sessionId)
+                ? flush().then(awaitPending(sessionId))
+                : Mono.empty());
+    }
+
+    /**
+     * Writes everything queued. If a flush is already running, completes when it does.
+     */
+    Mono<Void> flush() {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> completion = done.asMono();
+            Mono<Void> running = inFlightFlush.compareAndExchange(null, completion);
+            if (running != null) {
+                return running;
+            }
+            Runnable finish = () -> {
+                inFlightFlush.set(null);
+                done.tryEmitEmpty();
+            };
+            return writeBatches().doOnTerminate(finish).doOnCancel(finish);
+        });
+    }
+
+    private Mono<Void> writeBatches() {
+        List<MessageAppend> batch = new ArrayList<>(maxBatchSize);
+        queue.drainTo(batch, maxBatchSize);
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return writeBatch(batch).then(Mono.defer(this::writeBatches));
+    }
+
+    private Mono<Void> writeBatch(List<MessageAppend> batch) {
+        return sessionRepository.appendMessages(batch)
+                .doOnNext(matched -> {
+                    writtenCounter.increment(batch.size());
+                    batch.forEach(append -> sessionCache.messageAppended(
+                            append.sessionId(), append.userId(), append.message()));
+                    if (matched < batch.size()) {
+                        log.warn("{} of {} queued messages had no matching session", batch.size() - matched, batch.size());
+                    }
+                })
+                .onErrorResume(error -> {
+                    failedCounter.increment(batch.size());
+                    log.error("Failed to write {} queued messages", batch.size(), error);
+                    return Mono.empty();
+                })
+                // Before completion is signalled, so awaitPending sees the batch as written
+                .doOnTerminate(() -> batch.forEach(append -> release(append.sessionId())))
+                .doOnCancel(() -> batch.forEach(append -> release(append.sessionId())))
+                .then();
+    }
+
+    private void release(String sessionId) {
+        pendingBySession.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        while ((!queue.isEmpty() || inFlightFlush.get() != null) && System.nanoTime() < deadline) {
+            flush().block(shutdownTimeout);
+        }
+        if (!queue.isEmpty()) {
+            log.error("Dropped {} queued messages on shutdown", queue.size());
+        }
+    }
+}
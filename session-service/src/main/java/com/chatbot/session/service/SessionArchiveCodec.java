@@ -0,0 +1,140 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.dto.SessionWindow;
+import com.chatbot.session.model.ArchivedSession;
+import com.chatbot.session.model.ArchivedSession.MessageBlock;
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Converts sessions to and from their archived form: the history is cut into
+ * blocks of {@code block-size} messages, each serialized as JSON and gzipped.
+ */
+@Component
+public class SessionArchiveCodec {
+
+    private static final TypeReference<List<ConversationMessage>> MESSAGE_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final int blockSize;
+
+    public SessionArchiveCodec(ObjectMapper objectMapper,
+                               @Value("${session.archive.block-size:100}") int blockSize) {
+        this.objectMapper = objectMapper;
+        this.blockSize = blockSize;
+    }
+
+    public ArchivedSession archive(Session session) {
+        List<ConversationMessage> messages = session.getMessages() != null ? session.getMessages() : List.of();
+        List<MessageBlock> blocks = new ArrayList<>();
+        for (int first = 0; first < messages.size(); first += blockSize) {
+            List<ConversationMessage> slice = messages.subList(first, Math.min(first + blockSize, messages.size()));
+            blocks.add(new MessageBlock(first, slice.size(), compress(slice)));
+        }
+        return new ArchivedSession(
+                session.getSessionId(),
+                session.getUserId(),
+                session.getCreatedAt(),
+                session.getLastActivity(),
+                session.getStatus(),
+                session.getContext(),
+                session.getCurrentIntent(),
+                session.getEntities(),
+                messages.size(),
+                blocks,
+                LocalDateTime.now()
+        );
+    }
+
+    public Session restore(ArchivedSession archived) {
+        List<ConversationMessage> messages = new ArrayList<>(archived.getMessageCount());
+        for (MessageBlock block : blocks(archived)) {
+            messages.addAll(decompress(block.getData()));
+        }
+        return new Session(
+                archived.getSessionId(),
+                archived.getUserId(),
+                archived.getCreatedAt(),
+                archived.getLastActivity(),
+                archived.getStatus(),
+                archived.getContext(),
+                messages,
+                archived.getCurrentIntent(),
+                archived.getEntities()
+        );
+    }
+
+    /**
+     * Builds the same window {@link SessionWindow#of} would, inflating only the
+     * blocks that overlap it.
+     */
+    public SessionWindow window(ArchivedSession archived, Integer before, int limit) {
+        int count = archived.getMessageCount();
+        int start = SessionWindow.windowStart(before, count, limit);
+        int end = Math.min(before != null ? before : count, count);
+
+        List<ConversationMessage> window = new ArrayList<>(Math.max(end - start, 0));
+        for (MessageBlock block : blocks(archived)) {
+            int blockEnd = block.getFirstIndex() + block.getCount();
+            if (blockEnd <= start || block.getFirstIndex() >= end) {
+                continue;
+            }
+            List<ConversationMessage> messages = decompress(block.getData());
+            int from = Math.max(start - block.getFirstIndex(), 0);
+            int to = Math.min(end, blockEnd) - block.getFirstIndex();
+            window.addAll(messages.subList(from, to));
+        }
+        return new SessionWindow(
+                archived.getSessionId(),
+                archived.getUserId(),
+                archived.getCreatedAt(),
+                archived.getLastActivity(),
+                archived.getStatus(),
+                archived.getContext(),
+                archived.getCurrentIntent(),
+                archived.getEntities(),
+                count,
+                window,
+                start > 0 ? start : null
+        );
+    }
+
+    private static List<MessageBlock> blocks(ArchivedSession archived) {
+        return archived.getMessageBlocks() != null ? archived.getMessageBlocks() : List.of();
+    }
+
+    private byte[] compress(List<ConversationMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress message block", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ConversationMessage> decompress(byte[] data) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(gzip, MESSAGE_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived message block", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.ArchivedSessionRepository;
+import com.chatbot.session.repository.LeaseStore;
+import com.chatbot.session.repository.SessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves cold sessions (EXPIRED or TERMINATED, idle for {@code archive-after}) from
+ * the live collection into {@code sessions_archive} with compressed message blocks.
+ * A session is written to the archive first and only then deleted from the live
+ * collection, and only if nothing was appended in between; otherwise the archive
+ * copy is discarded and the session stays live. Like the expiry sweeper, only the
+ * replica holding the {@value #LEASE_NAME} lease runs.
+ */
+@Slf4j
+@Component
+public class SessionArchiver {
+
+    static final String LEASE_NAME = "session-archival";
+    private static final List<Session.SessionStatus> COLD_STATUSES =
+            List.of(Session.SessionStatus.EXPIRED, Session.SessionStatus.TERMINATED);
+
+    private final SessionRepository sessionRepository;
+    private final ArchivedSessionRepository archivedSessionRepository;
+    private final SessionArchiveCodec codec;
+    private final SessionCache sessionCache;
+    private final LeaseStore leaseStore;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final Duration leaseDuration;
+    private final String owner = UUID.randomUUID().toString();
+    private final Timer runTimer;
+    private final Counter archivedCounter;
+    private final Counter skippedCounter;
+    private final Disposable ticker;
+
+    public SessionArchiver(
+            SessionRepository sessionRepository,
+            ArchivedSessionRepository archivedSessionRepository,
+            SessionArchiveCodec codec,
+            SessionCache sessionCache,
+            LeaseStore leaseStore,
+            MeterRegistry meterRegistry,
+            @Value("${session.archive.enabled:true}") boolean enabled,
+            @Value("${session.archive.archive-after:7d}") Duration archiveAfter,
+            @Value("${session.archive.interval:15m}") Duration interval,
+            @Value("${session.archive.batch-size:100}") int batchSize,
+            @Value("${session.archive.lease-duration:30m}") Duration leaseDuration) {
+        this.sessionRepository = sessionRepository;
+        this.archivedSessionRepository = archivedSessionRepository;
+        this.codec = codec;
+        this.sessionCache = sessionCache;
+        this.leaseStore = leaseStore;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.leaseDuration = leaseDuration;
+        this.runTimer = Timer.builder("session.archive.run")
+                .description("Duration of archival runs")
+                .register(meterRegistry);
+        this.archivedCounter = meterRegistry.counter("session.archive.sessions", "outcome", "archived");
+        this.skippedCounter = meterRegistry.counter("session.archive.sessions", "outcome", "skipped");
+        this.ticker = enabled
+                ? Flux.interval(interval, interval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> archiveIfLeader()
+                                .onErrorResume(e -> {
+                                    log.warn("Session archival failed: {}", e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .subscribe()
+                : null;
+    }
+
+    /**
+     * @return the number of sessions archived, or empty if another replica holds the lease
+     */
+    public Mono<Long> archiveIfLeader() {
+        return leaseStore.tryAcquire(LEASE_NAME, owner, leaseDuration)
+                .filter(Boolean::booleanValue)
+                .flatMap(acquired -> {
+                    Timer.Sample sample = Timer.start();
+                    return archive().doFinally(signal -> sample.stop(runTimer));
+                });
+    }
+
+    /**
+     * Archives every cold session, {@code batch-size} documents at a time.
+     */
+    public Mono<Long> archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        return Mono.defer(() -> sessionRepository.findColdSessions(COLD_STATUSES, cutoff, batchSize)
+                        .concatMap(this::archiveSession)
+                        .collectList())
+                .repeat()
+                .takeUntil(batch -> batch.size() < batchSize || !batch.contains(true))
+                .reduce(0L, (total, batch) -> total + batch.stream().filter(Boolean::booleanValue).count())
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Archived {} cold sessions", total);
+                    }
+                });
+    }
+
+    private Mono<Boolean> archiveSession(Session session) {
+        return archivedSessionRepository.save(codec.archive(session))
+                .then(sessionRepository.deleteIfUnchanged(session.getSessionId(), session.getLastActivity()))
+                .flatMap(deleted -> {
+                    if (deleted) {
+                        archivedCounter.increment();
+                        sessionCache.invalidate(session);
+                        return Mono.just(true);
+                    }
+                    // Written to since it was read: keep it live and drop the stale archive copy
+                    skippedCounter.increment();
+                    return archivedSessionRepository.deleteById(session.getSessionId()).thenReturn(false);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.dispose();
+            leaseStore.release(LEASE_NAME, owner)
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of recently used sessions in front of the repository.
+ * Concurrent lookups of the same session share a single load, and cached
+ * copies are never mutated in place: writes either swap in a new copy or
+ * drop the entry.
+ */
+@Component
+public class SessionCache {
+
+    private final AsyncCache<SessionKey, Session> cache;
+
+    public SessionCache(
+            MeterRegistry meterRegistry,
+            @Value("${session.cache.maximum-size:10000}") long maximumSize,
+            @Value("${session.cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "sessions");
+    }
+
+    public Mono<Session> get(String sessionId, String userId, Mono<Session> loader) {
+        SessionKey key = new SessionKey(sessionId, userId);
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.toFuture()), true);
+    }
+
+    /**
+     * Returns the cached session only if it is already loaded, without triggering a load.
+     */
+    public Session getIfPresent(String sessionId, String userId) {
+        CompletableFuture<Session> future = cache.getIfPresent(new SessionKey(sessionId, userId));
+        return future != null && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+    }
+
+    public void put(Session session) {
+        cache.put(keyOf(session), CompletableFuture.completedFuture(session));
+    }
+
+    public void messageAppended(String sessionId, String userId, ConversationMessage message) {
+        cache.asMap().computeIfPresent(new SessionKey(sessionId, userId), (key, future) -> {
+            Session cached = future.getNow(null);
+            if (cached == null || future.isCompletedExceptionally()) {
+                return null;
+            }
+            return CompletableFuture.completedFuture(withMessage(cached, message));
+        });
+    }
+
+    public void invalidate(Session session) {
+        cache.synchronous().invalidate(keyOf(session));
+    }
+
+    public void invalidate(String sessionId, String userId) {
+        cache.synchronous().invalidate(new SessionKey(sessionId, userId));
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private static SessionKey keyOf(Session session) {
+        return new SessionKey(session.getSessionId(), session.getUserId());
+    }
+
+    private static Session withMessage(Session session, ConversationMessage message) {
+        List<ConversationMessage> messages = session.getMessages() == null
+                ? new ArrayList<>()
+                : new ArrayList<>(session.getMessages());
+        messages.add(message);
+        return new Session(
+                session.getSessionId(),
+                session.getUserId(),
+                session.getCreatedAt(),
+                LocalDateTime.now(),
+                session.getStatus(),
+                session.getContext(),
+                messages,
+                session.getCurrentIntent(),
+                session.getEntities()
+        );
+    }
+
+    private record SessionKey(String sessionId, String userId) {
+    }
+}
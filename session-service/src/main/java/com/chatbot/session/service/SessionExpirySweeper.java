@@ -0,0 +1,178 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.LeaseStore;
+import com.chatbot.session.repository.SessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically marks idle ACTIVE sessions as EXPIRED. Each sweep walks the stale
+ * sessions in batches of {@code batch-size}: it loads only their ids, flips their
+ * status with one multi-update and drops them from the cache, so memory stays
+ * bounded however many sessions are due. Only the replica holding the
+ * {@value #LEASE_NAME} lease sweeps.
+ *
+ * <p>With {@code delete-after} set, a TTL index additionally lets Mongo hard-delete
+ * expired sessions once their last activity is that far in the past.
+ */
+@Slf4j
+@Component
+public class SessionExpirySweeper {
+
+    static final String LEASE_NAME = "session-expiry";
+    static final String TTL_INDEX_NAME = "expired_sessions_ttl";
+
+    private final SessionRepository sessionRepository;
+    private final SessionCache sessionCache;
+    private final LeaseStore leaseStore;
+    private final Duration idleTimeout;
+    private final int batchSize;
+    private final Duration leaseDuration;
+    private final String owner = UUID.randomUUID().toString();
+    private final Timer completedTimer;
+    private final Timer skippedTimer;
+    private final Timer failedTimer;
+    private final Counter expiredCounter;
+    private final Disposable ticker;
+
+    public SessionExpirySweeper(
+            SessionRepository sessionRepository,
+            SessionCache sessionCache,
+            LeaseStore leaseStore,
+            ReactiveMongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${session.expiry.enabled:true}") boolean enabled,
+            @Value("${session.expiry.idle-timeout:24h}") Duration idleTimeout,
+            @Value("${session.expiry.sweep-interval:5m}") Duration sweepInterval,
+            @Value("${session.expiry.batch-size:500}") int batchSize,
+            @Value("${session.expiry.lease-duration:10m}") Duration leaseDuration,
+            @Value("${session.expiry.delete-after:0s}") Duration deleteAfter) {
+        this.sessionRepository = sessionRepository;
+        this.sessionCache = sessionCache;
+        this.leaseStore = leaseStore;
+        this.idleTimeout = idleTimeout;
+        this.batchSize = batchSize;
+        this.leaseDuration = leaseDuration;
+        this.completedTimer = sweepTimer(meterRegistry, "completed");
+        this.skippedTimer = sweepTimer(meterRegistry, "skipped");
+        this.failedTimer = sweepTimer(meterRegistry, "failed");
+        this.expiredCounter = meterRegistry.counter("session.expiry.expired");
+
+        if (enabled && !deleteAfter.isZero()) {
+            ensureTtlIndex(mongoTemplate, idleTimeout.plus(deleteAfter));
+        }
+        this.ticker = enabled
+                ? Flux.interval(sweepInterval, sweepInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> sweepIfLeader()
+                                .onErrorResume(e -> {
+                                    log.warn("Session expiry sweep failed: {}", e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .subscribe()
+                : null;
+    }
+
+    /**
+     * Runs one sweep if this replica holds (or can take) the lease.
+     *
+     * @return the number of sessions expired, or empty if another replica holds the lease
+     */
+    public Mono<Long> sweepIfLeader() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return leaseStore.tryAcquire(LEASE_NAME, owner, leaseDuration)
+                    .flatMap(acquired -> {
+                        if (!acquired) {
+                            sample.stop(skippedTimer);
+                            return Mono.empty();
+                        }
+                        return sweep()
+                                .doOnNext(expired -> sample.stop(completedTimer))
+                                .doOnError(e -> sample.stop(failedTimer));
+                    });
+        });
+    }
+
+    /**
+     * Expires every session idle for longer than {@code idle-timeout}, batch by batch.
+     */
+    public Mono<Long> sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleTimeout);
+        return Mono.defer(() -> expireBatch(cutoff))
+                .repeat()
+                .takeUntil(batch -> batch.found() < batchSize)
+                .reduce(0L, (total, batch) -> total + batch.expired())
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Marked {} sessions as expired", total);
+                    }
+                });
+    }
+
+    private Mono<BatchResult> expireBatch(LocalDateTime cutoff) {
+        return sessionRepository.findIdleSessionRefs(Session.SessionStatus.ACTIVE, cutoff, batchSize)
+                .collectList()
+                .flatMap(refs -> {
+                    List<String> ids = refs.stream().map(Session::getSessionId).toList();
+                    return sessionRepository.transitionIdleSessions(
+                                    ids, Session.SessionStatus.ACTIVE, Session.SessionStatus.EXPIRED, cutoff)
+                            .doOnNext(expired -> {
+                                expiredCounter.increment(expired);
+                                refs.forEach(sessionCache::invalidate);
+                            })
+                            .map(expired -> new BatchResult(refs.size(), expired));
+                });
+    }
+
+    private static void ensureTtlIndex(ReactiveMongoTemplate mongoTemplate, Duration expireAfter) {
+        Index ttl = new Index()
+                .on("lastActivity", Sort.Direction.ASC)
+                .expire(expireAfter)
+                .partial(PartialIndexFilter.of(Criteria.where("status").is(Session.SessionStatus.EXPIRED)))
+                .named(TTL_INDEX_NAME);
+        mongoTemplate.indexOps(Session.class).ensureIndex(ttl)
+                .subscribe(
+                        name -> log.info("TTL index {} deletes expired sessions {} after last activity", name, expireAfter),
+                        e -> log.warn("Could not create TTL index {}: {}", TTL_INDEX_NAME, e.getMessage()));
+    }
+
+    private static Timer sweepTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("session.expiry.sweep")
+                .description("Duration of session expiry sweeps")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.dispose();
+            leaseStore.release(LEASE_NAME, owner)
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+    }
+
+    private record BatchResult(int found, long expired) {
+    }
+}
@@ -1,15 +1,18 @@
 package com.chatbot.session.service;
 
+import com.chatbot.session.dto.SessionSummary;
+import com.chatbot.session.dto.SessionWindow;
 import com.chatbot.session.model.ConversationMessage;
 import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.ArchivedSessionRepository;
+import com.chatbot.session.repository.SessionCursor;
 import com.chatbot.session.repository.SessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -17,62 +20,139 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SessionService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 120;
+    private static final int MAX_WINDOW_SIZE = 200;
+
     private final SessionRepository sessionRepository;
+    private final SessionCache sessionCache;
+    private final MessageWriteBehind messageWriteBehind;
+    private final ArchivedSessionRepository archivedSessionRepository;
+    private final SessionArchiveCodec archiveCodec;
 
-    public Session createSession(String userId) {
+    public Mono<Session> createSession(String userId) {
         String sessionId = UUID.randomUUID().toString();
-        Session session = new Session(sessionId, userId);
-        session = sessionRepository.save(session);
-        log.info("Created new session: {} for user: {}", sessionId, userId);
-        return session;
+        return sessionRepository.save(new Session(sessionId, userId))
+                .doOnNext(sessionCache::put)
+                .doOnNext(session -> log.info("Created new session: {} for user: {}", sessionId, userId));
     }
 
-    public Optional<Session> getSession(String sessionId, String userId) {
-        return sessionRepository.findBySessionIdAndUserId(sessionId, userId);
+    /**
+     * Looks the session up in the live collection and falls back to the archive.
+     * Archived sessions are restored on every read and never cached.
+     */
+    public Mono<Session> getSession(String sessionId, String userId) {
+        return getLiveSession(sessionId, userId)
+                .switchIfEmpty(Mono.defer(() -> archivedSessionRepository.findBySessionIdAndUserId(sessionId, userId)
+                        .map(archiveCodec::restore)));
     }
 
-    public Session getOrCreateSession(String sessionId, String userId) {
-        if (sessionId != null) {
-            Optional<Session> existingSession = getSession(sessionId, userId);
-            if (existingSession.isPresent()) {
-                return existingSession.get();
-            }
-        }
-        return createSession(userId);
+    private Mono<Session> getLiveSession(String sessionId, String userId) {
+        return sessionCache.get(sessionId, userId,
+                Mono.defer(() -> sessionRepository.findBySessionIdAndUserId(sessionId, userId)));
     }
 
-    public Session addMessageToSession(String sessionId, String userId, ConversationMessage message) {
-        Session session = getOrCreateSession(sessionId, userId);
-        session.addMessage(message);
-        return sessionRepository.save(session);
+    /**
+     * Returns a session with at most {@code limit} messages ending before position
+     * {@code before}, or the latest ones when it is {@code null}. A session that is
+     * already cached is windowed in memory; otherwise only the window is read, from
+     * the archive if the session has been moved there.
+     *
+     * @throws IllegalArgumentException if {@code before} is not positive
+     */
+    public Mono<SessionWindow> getSessionWindow(String sessionId, String userId, Integer before, int limit) {
+        if (before != null && before < 1) {
+            return Mono.error(new IllegalArgumentException("before must be positive"));
+        }
+        int windowSize = Math.max(1, Math.min(limit, MAX_WINDOW_SIZE));
+        Session cached = sessionCache.getIfPresent(sessionId, userId);
+        if (cached != null) {
+            return Mono.just(SessionWindow.of(cached, before, windowSize));
+        }
+        return sessionRepository.findWindow(sessionId, userId, before, windowSize)
+                .switchIfEmpty(Mono.defer(() -> archivedSessionRepository.findBySessionIdAndUserId(sessionId, userId)
+                        .map(archived -> archiveCodec.window(archived, before, windowSize))));
     }
 
-    public List<Session> getUserSessions(String userId) {
-        return sessionRepository.findByUserId(userId);
+    public Mono<Session> getOrCreateSession(String sessionId, String userId) {
+        if (sessionId == null) {
+            return createSession(userId);
+        }
+        return getLiveSession(sessionId, userId)
+                .switchIfEmpty(Mono.defer(() -> createSession(userId)));
     }
 
-    public void terminateSession(String sessionId, String userId) {
-        Optional<Session> session = getSession(sessionId, userId);
-        if (session.isPresent()) {
-            Session s = session.get();
-            s.setStatus(Session.SessionStatus.TERMINATED);
-            sessionRepository.save(s);
-            log.info("Terminated session: {} for user: {}", sessionId, userId);
+    /**
+     * Appends a message to the session and returns the id of the session it was stored in.
+     * Existing sessions get an atomic in-place push; unknown or missing ids start a new
+     * session that already contains the message, so a turn is a single write either way.
+     * Messages of the session still queued for write-behind are written first.
+     */
+    public Mono<String> addMessageToSession(String sessionId, String userId, ConversationMessage message) {
+        if (sessionId == null) {
+            return createSessionWithMessage(userId, message);
         }
+        return messageWriteBehind.awaitPending(sessionId)
+                .then(Mono.defer(() -> sessionRepository.appendMessage(sessionId, userId, message)))
+                .flatMap(appended -> {
+                    if (!appended) {
+                        return createSessionWithMessage(userId, message);
+                    }
+                    sessionCache.messageAppended(sessionId, userId, message);
+                    return Mono.just(sessionId);
+                });
     }
 
-    public void cleanupExpiredSessions() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        List<Session> expiredSessions = sessionRepository.findByStatusAndLastActivityBefore(
-                Session.SessionStatus.ACTIVE, cutoff);
-        
-        for (Session session : expiredSessions) {
-            session.setStatus(Session.SessionStatus.EXPIRED);
+    /**
+     * Appends a message to a session that is known to exist. With write-behind enabled
+     * the message is queued and the returned {@code Mono} completes without waiting for Mongo.
+     */
+    public Mono<String> queueMessageToSession(String sessionId, String userId, ConversationMessage message) {
+        if (!messageWriteBehind.isEnabled()) {
+            return addMessageToSession(sessionId, userId, message);
         }
-        
-        if (!expiredSessions.isEmpty()) {
-            sessionRepository.saveAll(expiredSessions);
-            log.info("Marked {} sessions as expired", expiredSessions.size());
+        return messageWriteBehind.enqueue(sessionId, userId, message)
+                .thenReturn(sessionId);
+    }
+
+    private Mono<String> createSessionWithMessage(String userId, ConversationMessage message) {
+        Session session = new Session(UUID.randomUUID().toString(), userId);
+        session.addMessage(message);
+        return sessionRepository.save(session)
+                .doOnNext(sessionCache::put)
+                .doOnNext(saved -> log.info("Created new session: {} for user: {}", saved.getSessionId(), userId))
+                .map(Session::getSessionId);
+    }
+
+    /**
+     * Streams one page of session summaries, most recently active first.
+     *
+     * @param before cursor of the last summary on the previous page, or {@code null}
+     * @throws IllegalArgumentException if {@code before} is not a valid cursor
+     */
+    public Flux<SessionSummary> getUserSessions(String userId, String before, int limit) {
+        return Flux.defer(() -> {
+            SessionCursor cursor = before != null ? SessionCursor.decode(before) : null;
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            return sessionRepository.findSummariesByUserId(userId, cursor, pageSize);
+        }).doOnNext(summary -> {
+            summary.setLastMessagePreview(preview(summary.getLastMessagePreview()));
+            summary.setCursor(new SessionCursor(summary.getLastActivity(), summary.getSessionId()).encode());
+        });
+    }
+
+    private static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
         }
+        return content.substring(0, PREVIEW_LENGTH) + "…";
+    }
+
+    public Mono<Void> terminateSession(String sessionId, String userId) {
+        return sessionRepository.updateStatus(sessionId, userId, Session.SessionStatus.TERMINATED)
+                .doOnNext(updated -> sessionCache.invalidate(sessionId, userId))
+                .filter(Boolean::booleanValue)
+                .doOnNext(updated -> log.info("Terminated session: {} for user: {}", sessionId, userId))
+                .then();
     }
 }
@@ -0,0 +1,184 @@
+package com.chatbot.session.websocket;
+
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.service.ChatService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persistent chat channel. The gateway authenticates the handshake, offered with the
+ * {@code bearer} subprotocol, and passes the user in {@code X-User-Id}; afterwards every text frame is a {@link ChatRequest}
+ * and is answered with a {@code ChatResponse} frame. The conversation is bound to
+ * the first session id seen on the connection (from the {@code sessionId} query
+ * parameter or the first reply), so later frames may omit it. Frames without a
+ * session id that arrive while the first turn is still creating the session wait
+ * for it instead of creating sessions of their own.
+ * Frames are processed at most {@code max-in-flight} at a time; beyond that Reactor
+ * Netty stops reading from the socket, which pushes back on the client.
+ * The handler pings every {@code heartbeat-interval} and closes connections that
+ * leave {@code max-missed-pongs} pings in a row unanswered.
+ */
+@Slf4j
+@Component
+public class ChatWebSocketHandler implements WebSocketHandler {
+
+    private static final List<String> SUB_PROTOCOLS = List.of("bearer");
+
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+    private final Duration heartbeatInterval;
+    private final int maxInFlight;
+    private final int maxMissedPongs;
+
+    public ChatWebSocketHandler(
+            ChatService chatService,
+            ObjectMapper objectMapper,
+            @Value("${chat.websocket.heartbeat-interval:30s}") Duration heartbeatInterval,
+            @Value("${chat.websocket.max-in-flight:1}") int maxInFlight,
+            @Value("${chat.websocket.max-missed-pongs:3}") int maxMissedPongs) {
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxInFlight = maxInFlight;
+        this.maxMissedPongs = maxMissedPongs;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return SUB_PROTOCOLS;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String userId = session.getHandshakeInfo().getHeaders().getFirst("X-User-Id");
+        if (userId == null) {
+            return session.close(CloseStatus.POLICY_VIOLATION.withReason("Missing user"));
+        }
+        log.info("Chat WebSocket opened for user: {}", userId);
+
+        String requestedSessionId = UriComponentsBuilder
+                .fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getFirst("sessionId");
+        AtomicReference<Mono<String>> boundSessionId = new AtomicReference<>(
+                requestedSessionId != null ? Mono.just(requestedSessionId) : null);
+
+        AtomicInteger unansweredPings = new AtomicInteger();
+
+        Flux<WebSocketMessage> replies = session.receive()
+                .doOnNext(message -> {
+                    if (message.getType() == WebSocketMessage.Type.PONG) {
+                        unansweredPings.set(0);
+                    }
+                })
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                .map(WebSocketMessage::getPayloadAsText)
+                .flatMapSequential(payload -> reply(payload, userId, boundSessionId), maxInFlight)
+                .map(session::textMessage);
+
+        Flux<WebSocketMessage> heartbeats = Flux.interval(heartbeatInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    if (unansweredPings.getAndIncrement() < maxMissedPongs) {
+                        return Mono.just(session.pingMessage(factory -> factory.wrap(new byte[0])));
+                    }
+                    log.info("Closing chat WebSocket of user {} after {} unanswered pings", userId, maxMissedPongs);
+                    return session.close(CloseStatus.GOING_AWAY.withReason("Heartbeat timeout"))
+                            .then(Mono.<WebSocketMessage>empty());
+                })
+                .takeUntilOther(session.closeStatus());
+
+        return session.send(Flux.merge(replies, heartbeats))
+                .doFinally(signal -> log.info("Chat WebSocket closed for user: {}", userId));
+    }
+
+    private Mono<String> reply(String payload, String userId, AtomicReference<Mono<String>> boundSessionId) {
+        ChatRequest request;
+        try {
+            request = objectMapper.readValue(payload, ChatRequest.class);
+        } catch (JsonProcessingException e) {
+            return Mono.just(error("Invalid message"));
+        }
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            return Mono.just(error("Message content is required"));
+        }
+
+        return process(request, userId, boundSessionId)
+                .map(this::toJson)
+                .onErrorResume(error -> {
+                    log.error("Error processing WebSocket chat message", error);
+                    return Mono.just(error("Processing failed"));
+                });
+    }
+
+    /**
+     * Runs the turn in the bound session. The first turn without a session id claims
+     * the binding with a placeholder that completes with the session it creates;
+     * concurrent frames wait on it, and retry if the first turn fails.
+     */
+    private Mono<ChatResponse> process(ChatRequest request, String userId, AtomicReference<Mono<String>> boundSessionId) {
+        if (request.getSessionId() != null) {
+            return chatService.processMessage(request, userId)
+                    .doOnNext(response -> boundSessionId.compareAndSet(null, Mono.just(response.getSessionId())));
+        }
+
+        Mono<String> bound = boundSessionId.get();
+        if (bound != null) {
+            return bound
+                    .flatMap(sessionId -> {
+                        request.setSessionId(sessionId);
+                        return chatService.processMessage(request, userId);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> process(request, userId, boundSessionId)));
+        }
+
+        Sinks.One<String> firstTurn = Sinks.one();
+        Mono<String> placeholder = firstTurn.asMono();
+        if (!boundSessionId.compareAndSet(null, placeholder)) {
+            return process(request, userId, boundSessionId);
+        }
+        Runnable release = () -> {
+            if (boundSessionId.compareAndSet(placeholder, null)) {
+                firstTurn.tryEmitEmpty();
+            }
+        };
+        return chatService.processMessage(request, userId)
+                .doOnNext(response -> {
+                    boundSessionId.set(Mono.just(response.getSessionId()));
+                    firstTurn.tryEmitValue(response.getSessionId());
+                })
+                .doOnTerminate(release)
+                .doOnCancel(release);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize chat response", e);
+        }
+    }
+
+    private String error(String message) {
+        return toJson(Map.of("error", message));
+    }
+}
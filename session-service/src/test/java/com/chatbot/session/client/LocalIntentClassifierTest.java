@@ -0,0 +1,46 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalIntentClassifierTest {
+
+    private final LocalIntentClassifier classifier = new LocalIntentClassifier(true, 0.8);
+
+    private record CorpusCase(String message, String intent, double confidence, Map<String, Object> entities) {
+    }
+
+    @Test
+    void testMatchesPythonClassifierOnSharedCorpus() throws IOException {
+        // Given: expected results produced by nlu-service/services/intent_classifier.py
+        List<CorpusCase> corpus;
+        try (InputStream in = getClass().getResourceAsStream("/nlu/intent-corpus.json")) {
+            corpus = new ObjectMapper().readValue(in, new TypeReference<>() { });
+        }
+
+        // When / Then
+        for (CorpusCase expected : corpus) {
+            NluResponse actual = classifier.classify(expected.message());
+            assertEquals(expected.intent(), actual.getIntent(), expected.message());
+            assertEquals(expected.confidence(), actual.getConfidence(), expected.message());
+            assertEquals(expected.entities(), actual.getEntities(), expected.message());
+        }
+    }
+
+    @Test
+    void testClassifyIfConfident() {
+        assertTrue(classifier.classifyIfConfident("hello").isPresent());
+        assertTrue(classifier.classifyIfConfident("asdfghjkl").isEmpty());
+        assertTrue(new LocalIntentClassifier(true, 0.9).classifyIfConfident("Good Morning").isEmpty());
+        assertTrue(new LocalIntentClassifier(false, 0.8).classifyIfConfident("hello").isEmpty());
+    }
+}
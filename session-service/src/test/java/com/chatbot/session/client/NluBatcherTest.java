@@ -0,0 +1,152 @@
+package com.chatbot.session.client;
+
+import com.chatbot.session.dto.NluResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NluBatcherTest {
+
+    @Mock
+    private NluClient nluClient;
+
+    private NluBatcher nluBatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (nluBatcher != null) {
+            nluBatcher.shutdown();
+        }
+    }
+
+    private NluBatcher batcher(boolean enabled) {
+        return new NluBatcher(nluClient, new SimpleMeterRegistry(), enabled, Duration.ofMillis(200), 3, 4);
+    }
+
+    @Test
+    void testConcurrentCallsShareOneBatch() {
+        // Given
+        nluBatcher = batcher(true);
+        when(nluClient.classifyBatch(List.of("hello", "bye", "help")))
+                .thenReturn(Mono.just(List.of(
+                        new NluResponse("greeting", 0.95, Map.of()),
+                        new NluResponse("goodbye", 0.95, Map.of()),
+                        new NluResponse("help", 0.95, Map.of()))));
+
+        // When
+        Flux<String> intents = Flux.mergeSequential(
+                nluBatcher.classify("hello").map(NluResponse::getIntent),
+                nluBatcher.classify("bye").map(NluResponse::getIntent),
+                nluBatcher.classify("help").map(NluResponse::getIntent));
+
+        // Then
+        StepVerifier.create(intents)
+                .expectNext("greeting", "goodbye", "help")
+                .verifyComplete();
+        verify(nluClient, times(1)).classifyBatch(anyList());
+        verify(nluClient, never()).classify(anyString());
+    }
+
+    @Test
+    void testBatchFailureFailsEveryCaller() {
+        // Given
+        nluBatcher = batcher(true);
+        when(nluClient.classifyBatch(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("NLU down")));
+
+        // When / Then
+        StepVerifier.create(Flux.mergeDelayError(2, nluBatcher.classify("hello"), nluBatcher.classify("bye")))
+                .expectError(RuntimeException.class)
+                .verify(Duration.ofSeconds(2));
+        verify(nluClient, times(1)).classifyBatch(anyList());
+    }
+
+    @Test
+    void testEmptyBatchResultFailsEveryCaller() {
+        // Given
+        nluBatcher = batcher(true);
+        when(nluClient.classifyBatch(anyList())).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(nluBatcher.classify("hello"))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testSaturatedBatchesDelayInsteadOfBreakingThePipeline() {
+        // Given
+        nluBatcher = new NluBatcher(nluClient, new SimpleMeterRegistry(), true, Duration.ofMillis(1), 2, 1);
+        when(nluClient.classifyBatch(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<String>>getArgument(0))
+                        .map(message -> new NluResponse("greeting", 0.95, Map.of()))
+                        .collectList()
+                        .delayElement(Duration.ofMillis(20)));
+
+        // When
+        Flux<NluResponse> results = Flux.range(0, 20)
+                .delayElements(Duration.ofMillis(3))
+                .flatMap(i -> nluBatcher.classify("hello " + i));
+
+        // Then
+        StepVerifier.create(results)
+                .expectNextCount(20)
+                .verifyComplete();
+        StepVerifier.create(nluBatcher.classify("after"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testCallsFromManyThreadsAllGetTheirResult() {
+        // Given
+        nluBatcher = new NluBatcher(nluClient, new SimpleMeterRegistry(), true, Duration.ofMillis(1), 32, 16);
+        when(nluClient.classifyBatch(anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<String>>getArgument(0))
+                        .map(message -> new NluResponse(message, 0.95, Map.of()))
+                        .collectList());
+
+        // When
+        Flux<Boolean> matches = Flux.range(0, 2000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> nluBatcher.classify("message " + i)
+                        .map(response -> response.getIntent().equals("message " + i)))
+                .sequential();
+
+        // Then
+        StepVerifier.create(matches.filter(match -> match))
+                .expectNextCount(2000)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDisabledBatchingCallsClientDirectly() {
+        // Given
+        nluBatcher = batcher(false);
+        when(nluClient.classify("hello"))
+                .thenReturn(Mono.just(new NluResponse("greeting", 0.95, Map.of())));
+
+        // When / Then
+        StepVerifier.create(nluBatcher.classify("hello"))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(nluClient, never()).classifyBatch(anyList());
+    }
+}
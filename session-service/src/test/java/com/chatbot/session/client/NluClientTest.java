@@ -0,0 +1,122 @@
+package com.chatbot.session.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NluClientTest {
+
+    private static final String GREETING = "{\"intent\":\"greeting\",\"confidence\":0.95,\"entities\":{}}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger requests = new AtomicInteger();
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private void startStub(int status, Duration delay) {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/api/nlu/classify", (request, response) -> {
+                    requests.incrementAndGet();
+                    return request.receive().then()
+                            .then(Mono.delay(delay))
+                            .then(response.status(status)
+                                    .header("Content-Type", "application/json")
+                                    .sendString(Mono.just(GREETING))
+                                    .then());
+                }))
+                .bindNow();
+    }
+
+    private NluClient client(NluClientProperties properties) {
+        return new NluClient(WebClient.builder(), properties, meterRegistry,
+                "http://localhost:" + server.port());
+    }
+
+    @Test
+    void testClassifySuccess() {
+        // Given
+        startStub(200, Duration.ZERO);
+        NluClient client = client(new NluClientProperties());
+
+        // When / Then
+        StepVerifier.create(client.classify("hello"))
+                .assertNext(response -> {
+                    assertEquals("greeting", response.getIntent());
+                    assertEquals(0.95, response.getConfidence());
+                })
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("nlu.client.requests").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testClassifyTimesOutAfterDeadline() {
+        // Given
+        startStub(200, Duration.ofSeconds(2));
+        NluClientProperties properties = new NluClientProperties();
+        properties.setCallTimeout(Duration.ofMillis(100));
+        NluClient client = client(properties);
+
+        // When / Then
+        StepVerifier.create(client.classify("hello"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testHedgedRequestAnswersFirst() {
+        // Given
+        startStub(200, Duration.ofMillis(300));
+        NluClientProperties properties = new NluClientProperties();
+        properties.setHedgeDelay(Duration.ofMillis(50));
+        NluClient client = client(properties);
+
+        // When / Then
+        StepVerifier.create(client.classify("hello"))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.counter("nlu.client.hedged").count());
+    }
+
+    @Test
+    void testCircuitOpensAndFailsFast() {
+        // Given
+        startStub(500, Duration.ZERO);
+        NluClientProperties properties = new NluClientProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        NluClient client = client(properties);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(client.classify("hello")).expectError().verify();
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+        StepVerifier.create(client.classify("hello"))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(4, requests.get());
+    }
+}
@@ -0,0 +1,37 @@
+package com.chatbot.session.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NluResultCacheTest {
+
+    private NluResultCache cache(NluResultCache.Normalization normalization) {
+        return new NluResultCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1), normalization);
+    }
+
+    @Test
+    void testExactNormalization() {
+        NluResultCache cache = cache(NluResultCache.Normalization.EXACT);
+
+        assertEquals(" Hello ", cache.normalize(" Hello "));
+    }
+
+    @Test
+    void testCaseInsensitiveNormalization() {
+        NluResultCache cache = cache(NluResultCache.Normalization.CASE_INSENSITIVE);
+
+        assertEquals("what can you do?", cache.normalize("  What   can you\tdo? "));
+    }
+
+    @Test
+    void testLenientNormalization() {
+        NluResultCache cache = cache(NluResultCache.Normalization.LENIENT);
+
+        assertEquals("thanks", cache.normalize("Thanks!!"));
+        assertEquals("say hello", cache.normalize("Say hello "));
+    }
+}
@@ -1,8 +1,10 @@
 package com.chatbot.session.controller;
 
+import com.chatbot.session.dto.ChatEvent;
 import com.chatbot.session.dto.ChatRequest;
 import com.chatbot.session.dto.ChatResponse;
 import com.chatbot.session.service.ChatService;
+import com.chatbot.session.service.IdempotencyKeyReusedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -19,6 +23,8 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,7 +62,7 @@ class ChatControllerTest {
 
         // Then
         StepVerifier.create(result)
-                .expectNext(entity -> 
+                .expectNextMatches(entity -> 
                     entity.getStatusCode() == HttpStatus.OK &&
                     entity.getBody().getResponse().equals("Hello! How can I help you?")
                 )
@@ -78,7 +84,46 @@ class ChatControllerTest {
 
         // Then
         StepVerifier.create(result)
-                .expectNext(entity -> entity.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectNextMatches(entity -> entity.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    void testSendMessageWithReusedIdempotencyKeyIsRejected() {
+        // Given
+        ChatRequest request = new ChatRequest();
+        request.setMessage("Goodbye");
+        request.setIdempotencyKey("key1");
+
+        when(chatService.processMessage(any(ChatRequest.class), anyString()))
+                .thenReturn(Mono.error(new IdempotencyKeyReusedException("key1")));
+
+        // When
+        Mono<ResponseEntity<ChatResponse>> result = chatController.sendMessage(request, "user123");
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(entity -> entity.getStatusCode() == HttpStatus.UNPROCESSABLE_ENTITY)
+                .verifyComplete();
+    }
+
+    @Test
+    void testSendMessagePublicIgnoresIdempotencyKey() {
+        // Given
+        ChatRequest request = new ChatRequest();
+        request.setMessage("Hello");
+        request.setIdempotencyKey("key1");
+
+        when(chatService.processMessage(argThat(r -> r.getIdempotencyKey() == null), eq("demo")))
+                .thenReturn(Mono.just(new ChatResponse("session123", "msg123", "Hi", "greeting", 0.95,
+                        Map.of(), LocalDateTime.now(), List.of())));
+
+        // When
+        Mono<ResponseEntity<ChatResponse>> result = chatController.sendMessagePublic(request);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(entity -> entity.getStatusCode() == HttpStatus.OK)
                 .verifyComplete();
     }
 
@@ -107,7 +152,29 @@ class ChatControllerTest {
 
         // Then
         StepVerifier.create(result)
-                .expectNext(entity -> entity.getStatusCode() == HttpStatus.OK)
+                .expectNextMatches(entity -> entity.getStatusCode() == HttpStatus.OK)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamMessage() {
+        // Given
+        ChatRequest request = new ChatRequest();
+        request.setMessage("Hello");
+        
+        when(chatService.streamMessage(any(ChatRequest.class), anyString()))
+                .thenReturn(Flux.just(
+                        ChatEvent.ack("session123", "msg123"),
+                        ChatEvent.response("session123", "msg123", "Hello! How can I help you?", List.of())));
+
+        // When
+        Flux<ServerSentEvent<ChatEvent>> result = chatController.streamMessage(request, "user123");
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(event -> "ack".equals(event.event()))
+                .expectNextMatches(event -> "response".equals(event.event())
+                        && event.data().getResponse().equals("Hello! How can I help you?"))
                 .verifyComplete();
     }
 }
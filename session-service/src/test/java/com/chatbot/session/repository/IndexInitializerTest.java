@@ -0,0 +1,36 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.model.Session;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexInitializerTest {
+
+    @Test
+    void testSessionDeclaresHotPathIndexes() {
+        // Given
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        // When
+        Map<String, Document> keysByName = new HashMap<>();
+        for (IndexDefinition index : resolver.resolveIndexFor(Session.class)) {
+            keysByName.put(index.getIndexOptions().getString("name"), index.getIndexKeys());
+        }
+
+        // Then
+        assertEquals(Document.parse("{'userId': 1, 'lastActivity': -1, '_id': -1}"), keysByName.get("user_last_activity"));
+        assertEquals(Document.parse("{'status': 1, 'lastActivity': 1}"), keysByName.get("status_last_activity"));
+    }
+}
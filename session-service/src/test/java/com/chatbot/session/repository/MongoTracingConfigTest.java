@@ -0,0 +1,26 @@
+package com.chatbot.session.repository;
+
+import com.mongodb.MongoClientSettings;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoTracingConfigTest {
+
+    @Test
+    void testCustomizerAddsObservationListenerAndContextProvider() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        // When
+        new MongoTracingConfig().mongoTracingCustomizer(ObservationRegistry.create()).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertTrue(settings.getCommandListeners().stream()
+                .anyMatch(listener -> listener instanceof MongoObservationCommandListener));
+        assertNotNull(settings.getContextProvider());
+    }
+}
@@ -0,0 +1,161 @@
+package com.chatbot.session.repository;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every session query through {@code explain} against a real Mongo and fails
+ * if the winning plan scans the whole collection. Needs a disposable database;
+ * run with {@code mvn verify -Pquery-plan-verification} and {@code MONGODB_URI}
+ * pointing at it (defaults to a local instance).
+ */
+class SessionQueryPlanIT {
+
+    private static final String DEFAULT_URI = "mongodb://localhost:27017/chatbot_query_plan_it";
+
+    private static MongoClient client;
+    private static ReactiveMongoTemplate mongoTemplate;
+    private static MongoMappingContext mappingContext;
+    private static QueryMapper queryMapper;
+    private static MongoPersistentEntity<?> sessionEntity;
+
+    @BeforeAll
+    static void setUp() {
+        String uri = System.getenv().getOrDefault("MONGODB_URI", DEFAULT_URI);
+        String database = new ConnectionString(uri).getDatabase();
+        client = MongoClients.create(uri);
+        mongoTemplate = new ReactiveMongoTemplate(client, database != null ? database : "chatbot_query_plan_it");
+        mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        sessionEntity = mappingContext.getRequiredPersistentEntity(Session.class);
+
+        mongoTemplate.dropCollection(Session.class).block();
+        new IndexInitializer(mongoTemplate, mappingContext).ensureIndexes().block();
+        mongoTemplate.insertAll(sampleSessions()).blockLast();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoTemplate.dropCollection(Session.class).block();
+        client.close();
+    }
+
+    @Test
+    void testFindBySessionIdAndUserIdUsesIndex() {
+        assertNoCollectionScan(explain(Query.query(Criteria.where("_id").is("session-7").and("userId").is("user-7"))));
+    }
+
+    @Test
+    void testFindByUserIdUsesIndex() {
+        assertNoCollectionScan(explain(Query.query(Criteria.where("userId").is("user-3"))));
+    }
+
+    @Test
+    void testFindByStatusAndLastActivityBeforeUsesIndex() {
+        assertNoCollectionScan(explain(Query.query(Criteria.where("status").is(Session.SessionStatus.ACTIVE)
+                .and("lastActivity").lt(LocalDateTime.now().minusDays(1)))));
+    }
+
+    @Test
+    void testIdleSessionRefsUseIndex() {
+        assertNoCollectionScan(explain(SessionRepositoryCustomImpl.idleSessionRefsQuery(
+                Session.SessionStatus.ACTIVE, LocalDateTime.now().minusDays(1), 500)));
+    }
+
+    @Test
+    void testColdSessionsUseIndex() {
+        assertNoCollectionScan(explain(SessionRepositoryCustomImpl.coldSessionsQuery(
+                List.of(Session.SessionStatus.EXPIRED, Session.SessionStatus.TERMINATED),
+                LocalDateTime.now().minusDays(7), 100)));
+    }
+
+    @Test
+    void testSessionSummariesUseIndex() {
+        assertNoCollectionScan(explain(SessionRepositoryCustomImpl.summariesAggregation("user-3", null, 20)));
+        assertNoCollectionScan(explain(SessionRepositoryCustomImpl.summariesAggregation(
+                "user-3", new SessionCursor(LocalDateTime.now().minusDays(2), "session-3"), 20)));
+    }
+
+    @Test
+    void testSessionWindowUsesIndex() {
+        assertNoCollectionScan(explain(SessionRepositoryCustomImpl.windowAggregation("session-7", "user-7", null, 50)));
+    }
+
+    private static Document explain(Query query) {
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), sessionEntity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), sessionEntity);
+        return mongoTemplate.getCollection("sessions")
+                .flatMap(collection -> Mono.from(collection.find(filter).sort(sort).limit(query.getLimit())
+                        .explain(Document.class)))
+                .block();
+    }
+
+    private static Document explain(Aggregation aggregation) {
+        List<Document> pipeline = aggregation.toPipeline(
+                new TypeBasedAggregationOperationContext(Session.class, mappingContext, queryMapper));
+        return mongoTemplate.getCollection("sessions")
+                .flatMap(collection -> Mono.from(collection.aggregate(pipeline).explain(Document.class)))
+                .block();
+    }
+
+    private static void assertNoCollectionScan(Document explain) {
+        assertNotNull(explain);
+        assertFalse(containsCollectionScan(explain), () -> "Query plan scans the whole collection: " + explain.toJson());
+    }
+
+    private static boolean containsCollectionScan(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if ("rejectedPlans".equals(entry.getKey())) {
+                    continue;
+                }
+                if ("stage".equals(entry.getKey()) && "COLLSCAN".equals(entry.getValue())) {
+                    return true;
+                }
+                if (containsCollectionScan(entry.getValue())) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            return list.stream().anyMatch(SessionQueryPlanIT::containsCollectionScan);
+        }
+        return false;
+    }
+
+    private static List<Session> sampleSessions() {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Session session = new Session("session-" + i, "user-" + (i % 10));
+            session.addMessage(new ConversationMessage("message " + i, ConversationMessage.MessageType.USER, session.getUserId()));
+            session.setLastActivity(LocalDateTime.now().minusHours(i));
+            if (i % 3 == 0) {
+                session.setStatus(Session.SessionStatus.EXPIRED);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
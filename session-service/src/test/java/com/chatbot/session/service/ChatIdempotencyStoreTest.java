@@ -0,0 +1,139 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatIdempotencyStoreTest {
+
+    private ChatIdempotencyStore store;
+    private AtomicInteger submissions;
+
+    @BeforeEach
+    void setUp() {
+        store = new ChatIdempotencyStore(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(10));
+        submissions = new AtomicInteger();
+    }
+
+    private Supplier<Mono<ChatResponse>> submission(String response) {
+        return () -> Mono.fromSupplier(() -> {
+            submissions.incrementAndGet();
+            return response(response);
+        });
+    }
+
+    private static ChatRequest request(String idempotencyKey, String sessionId, String message) {
+        ChatRequest request = new ChatRequest();
+        request.setIdempotencyKey(idempotencyKey);
+        request.setSessionId(sessionId);
+        request.setMessage(message);
+        return request;
+    }
+
+    private static ChatRequest request(String idempotencyKey) {
+        return request(idempotencyKey, "session1", "Hello");
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse("session1", "message1", text, "greeting", 0.9, Map.of(), LocalDateTime.now(), List.of());
+    }
+
+    @Test
+    void testSameKeyRunsOnce() {
+        // When
+        ChatResponse first = store.submit("user1", request("key1"), submission("first")).block();
+        ChatResponse retry = store.submit("user1", request("key1"), submission("second")).block();
+
+        // Then
+        assertEquals("first", retry.getResponse());
+        assertSame(first, retry);
+        assertEquals(1, submissions.get());
+    }
+
+    @Test
+    void testWithoutKeyOrForOtherUserRunsAgain() {
+        // When
+        store.submit("user1", request(null), submission("a")).block();
+        store.submit("user1", request(null), submission("b")).block();
+        store.submit("user1", request("key1"), submission("c")).block();
+        ChatResponse otherUser = store.submit("user2", request("key1"), submission("d")).block();
+
+        // Then
+        assertEquals("d", otherUser.getResponse());
+        assertEquals(4, submissions.get());
+    }
+
+    @Test
+    void testFailedSubmissionIsNotRemembered() {
+        // Given
+        StepVerifier.create(store.submit("user1", request("key1"), () -> Mono.error(new IllegalStateException("NLU down"))))
+                .verifyError(IllegalStateException.class);
+
+        // When / Then
+        StepVerifier.create(store.submit("user1", request("key1"), submission("retried")))
+                .assertNext(response -> assertEquals("retried", response.getResponse()))
+                .verifyComplete();
+        assertEquals(1, submissions.get());
+    }
+
+    @Test
+    void testRetryJoinsSubmissionStillInFlight() {
+        // Given
+        Sinks.One<ChatResponse> pending = Sinks.one();
+        Mono<ChatResponse> first = store.submit("user1", request("key1"), () -> {
+            submissions.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<ChatResponse> retry = store.submit("user1", request("key1"), submission("second"));
+
+        // When / Then
+        StepVerifier.create(first.zipWith(retry))
+                .then(() -> pending.tryEmitValue(response("first")))
+                .assertNext(both -> {
+                    assertEquals("first", both.getT1().getResponse());
+                    assertEquals("first", both.getT2().getResponse());
+                })
+                .verifyComplete();
+        assertEquals(1, submissions.get());
+    }
+
+    @Test
+    void testKeyReusedForDifferentMessageIsRejected() {
+        // Given
+        store.submit("user1", request("key1", "session1", "Hello"), submission("first")).block();
+
+        // When / Then
+        StepVerifier.create(store.submit("user1", request("key1", "session1", "Goodbye"), submission("second")))
+                .verifyError(IdempotencyKeyReusedException.class);
+        StepVerifier.create(store.submit("user1", request("key1", "session2", "Hello"), submission("third")))
+                .verifyError(IdempotencyKeyReusedException.class);
+        assertEquals(1, submissions.get());
+    }
+
+    @Test
+    void testRetryNamingTheCreatedSessionIsReplayed() {
+        // Given
+        store.submit("user1", request("key1", null, "Hello"), submission("first")).block();
+
+        // When
+        ChatResponse retry = store.submit("user1", request("key1", "session1", "Hello"), submission("second")).block();
+
+        // Then
+        assertEquals("first", retry.getResponse());
+        assertEquals(1, submissions.get());
+    }
+}
@@ -0,0 +1,240 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.client.LocalIntentClassifier;
+import com.chatbot.session.client.NluBatcher;
+import com.chatbot.session.client.NluResultCache;
+import com.chatbot.session.dto.ChatEvent;
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.dto.NluResponse;
+import com.chatbot.session.model.ConversationMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceTest {
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private NluBatcher nluBatcher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        NluResultCache nluResultCache = new NluResultCache(meterRegistry,
+                true, 100, Duration.ofMinutes(10), NluResultCache.Normalization.CASE_INSENSITIVE);
+        chatService = new ChatService(sessionService, nluBatcher, nluResultCache,
+                new LocalIntentClassifier(false, 0.8), meterRegistry,
+                new ChatIdempotencyStore(meterRegistry, true, 100, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void testRetryWithSameIdempotencyKeyGetsOriginalResponse() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Where is my order?"))
+                .thenReturn(Mono.just(new NluResponse("order_status", 0.9, Map.of())));
+        ChatRequest request = request("Where is my order?");
+        request.setIdempotencyKey("retry-1");
+
+        // When
+        ChatResponse first = chatService.processMessage(request, "user123").block();
+        ChatResponse retry = chatService.processMessage(request, "user123").block();
+
+        // Then
+        assertSame(first, retry);
+        verify(sessionService, times(1)).addMessageToSession(anyString(), anyString(), any());
+        verify(sessionService, times(1)).queueMessageToSession(anyString(), anyString(), any());
+        verify(nluBatcher, times(1)).classify(anyString());
+    }
+
+    private ChatRequest request(String message) {
+        ChatRequest request = new ChatRequest();
+        request.setMessage(message);
+        request.setSessionId("session123");
+        return request;
+    }
+
+    @Test
+    void testProcessMessage() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Hello"))
+                .thenReturn(Mono.just(new NluResponse("greeting", 0.95, Map.of())));
+
+        // When / Then
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .assertNext(response -> {
+                    assertEquals("session123", response.getSessionId());
+                    assertEquals("greeting", response.getIntent());
+                    assertEquals("Hello! How can I help you today?", response.getResponse());
+                })
+                .verifyComplete();
+        verify(sessionService).queueMessageToSession(eq("session123"), eq("user123"),
+                argThat(message -> message.getType() == ConversationMessage.MessageType.BOT
+                        && "greeting".equals(message.getIntent())));
+    }
+
+    @Test
+    void testProcessMessageFallsBackWhenNluFails() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Hello"))
+                .thenReturn(Mono.error(new RuntimeException("NLU down")));
+
+        // When / Then
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .assertNext(response -> {
+                    assertEquals("unknown", response.getIntent());
+                    assertEquals(0.0, response.getConfidence());
+                })
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.get("chat.nlu.fallback").tag("reason", "error").counter().count());
+        assertEquals(1, meterRegistry.get("chat.stage")
+                .tags("stage", "nlu", "intent", "unknown", "outcome", "fallback").timer().count());
+    }
+
+    @Test
+    void testProcessMessageRecordsStageTimers() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Hello"))
+                .thenReturn(Mono.just(new NluResponse("greeting", 0.95, Map.of())));
+
+        // When
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        for (String stage : List.of("user_message", "nlu", "response", "bot_message")) {
+            assertEquals(1, meterRegistry.get("chat.stage")
+                    .tags("stage", stage, "intent", "greeting", "outcome", "success").timer().count(), stage);
+        }
+        assertEquals(1, meterRegistry.get("chat.turn")
+                .tags("intent", "greeting", "outcome", "success").timer().count());
+        assertNull(meterRegistry.find("chat.nlu.fallback").counter());
+    }
+
+    @Test
+    void testFailedUserMessageIsRecordedWithoutIntent() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Mongo down")));
+
+        // When
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .verifyError(IllegalStateException.class);
+
+        // Then
+        assertEquals(1, meterRegistry.get("chat.stage")
+                .tags("stage", "user_message", "intent", "none", "outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("chat.turn").tags("intent", "none", "outcome", "error").timer().count());
+        assertNull(meterRegistry.find("chat.stage").tag("stage", "nlu").timer());
+    }
+
+    @Test
+    void testRepeatedMessageIsClassifiedOnce() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Thanks"))
+                .thenReturn(Mono.just(new NluResponse("thanks", 0.95, Map.of())));
+
+        // When
+        StepVerifier.create(chatService.processMessage(request("Thanks"), "user123")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(chatService.processMessage(request("  thanks "), "user123")).expectNextCount(1).verifyComplete();
+
+        // Then
+        verify(nluBatcher, times(1)).classify(anyString());
+    }
+
+    @Test
+    void testFailedClassificationIsNotCached() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Hello"))
+                .thenReturn(Mono.error(new RuntimeException("NLU down")))
+                .thenReturn(Mono.just(new NluResponse("greeting", 0.95, Map.of())));
+
+        // When
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .assertNext(response -> assertEquals("unknown", response.getIntent()))
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(chatService.processMessage(request("Hello"), "user123"))
+                .assertNext(response -> assertEquals("greeting", response.getIntent()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamMessageEmitsEventsInOrder() {
+        // Given
+        when(sessionService.addMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(sessionService.queueMessageToSession(eq("session123"), eq("user123"), any(ConversationMessage.class)))
+                .thenReturn(Mono.just("session123"));
+        when(nluBatcher.classify("Hello"))
+                .thenReturn(Mono.just(new NluResponse("greeting", 0.95, Map.of())));
+
+        // When / Then
+        StepVerifier.create(chatService.streamMessage(request("Hello"), "user123"))
+                .assertNext(event -> {
+                    assertEquals(ChatEvent.Type.ACK, event.getType());
+                    assertEquals("session123", event.getSessionId());
+                })
+                .assertNext(event -> {
+                    assertEquals(ChatEvent.Type.INTENT, event.getType());
+                    assertEquals("greeting", event.getIntent());
+                })
+                .assertNext(event -> {
+                    assertEquals(ChatEvent.Type.RESPONSE, event.getType());
+                    assertEquals("Hello! How can I help you today?", event.getResponse());
+                    assertEquals(3, event.getSuggestions().size());
+                })
+                .verifyComplete();
+        verify(nluBatcher, times(1)).classify("Hello");
+        verify(sessionService).queueMessageToSession(eq("session123"), eq("user123"),
+                argThat(message -> message.getType() == ConversationMessage.MessageType.BOT));
+    }
+}
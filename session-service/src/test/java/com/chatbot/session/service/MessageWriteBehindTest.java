@@ -0,0 +1,128 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.repository.SessionRepository;
+import com.chatbot.session.repository.SessionRepositoryCustom.MessageAppend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageWriteBehindTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private final SessionCache sessionCache = new SessionCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    private MessageWriteBehind writeBehind(int maxBatchSize, int queueCapacity) {
+        return new MessageWriteBehind(sessionRepository, sessionCache, new SimpleMeterRegistry(),
+                true, maxBatchSize, Duration.ofHours(1), queueCapacity, Duration.ofSeconds(5));
+    }
+
+    private ConversationMessage botMessage(String content) {
+        return new ConversationMessage(content, ConversationMessage.MessageType.BOT, "bot");
+    }
+
+    @Test
+    void testFlushesWhenBatchIsFull() {
+        // Given
+        MessageWriteBehind writeBehind = writeBehind(2, 10);
+        when(sessionRepository.appendMessages(anyList()))
+                .thenAnswer(invocation -> Mono.just(((List<?>) invocation.getArgument(0)).size()));
+
+        // When
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", botMessage("one"))).verifyComplete();
+        verify(sessionRepository, never()).appendMessages(anyList());
+        StepVerifier.create(writeBehind.enqueue("session2", "user123", botMessage("two"))).verifyComplete();
+
+        // Then
+        verify(sessionRepository, timeout(1000)).appendMessages(argThat(batch -> batch.size() == 2));
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void testWritesDirectlyWhenQueueIsFull() {
+        // Given
+        MessageWriteBehind writeBehind = writeBehind(10, 1);
+        ConversationMessage overflow = botMessage("two");
+        when(sessionRepository.appendMessage("session1", "user123", overflow)).thenReturn(Mono.just(true));
+        when(sessionRepository.appendMessages(anyList())).thenReturn(Mono.just(1));
+
+        // When
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", botMessage("one"))).verifyComplete();
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", overflow)).verifyComplete();
+
+        // Then
+        InOrder inOrder = inOrder(sessionRepository);
+        inOrder.verify(sessionRepository).appendMessages(anyList());
+        inOrder.verify(sessionRepository).appendMessage("session1", "user123", overflow);
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void testAwaitPendingWritesQueuedMessagesOfTheSessionFirst() {
+        // Given
+        MessageWriteBehind writeBehind = writeBehind(100, 100);
+        ConversationMessage queued = botMessage("queued");
+        when(sessionRepository.appendMessages(anyList())).thenReturn(Mono.just(1).delayElement(Duration.ofMillis(50)));
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", queued)).verifyComplete();
+
+        // When / Then
+        StepVerifier.create(writeBehind.awaitPending("session2")).verifyComplete();
+        verify(sessionRepository, never()).appendMessages(anyList());
+        StepVerifier.create(writeBehind.awaitPending("session1")).verifyComplete();
+        verify(sessionRepository).appendMessages(List.of(new MessageAppend("session1", "user123", queued)));
+        StepVerifier.create(writeBehind.awaitPending("session1")).verifyComplete();
+        verify(sessionRepository, times(1)).appendMessages(anyList());
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void testTickerKeepsFlushingWhenAFlushOutlastsTheInterval() {
+        // Given
+        MessageWriteBehind writeBehind = new MessageWriteBehind(sessionRepository, sessionCache, new SimpleMeterRegistry(),
+                true, 100, Duration.ofMillis(10), 100, Duration.ofSeconds(5));
+        when(sessionRepository.appendMessages(anyList()))
+                .thenReturn(Mono.just(1).delayElement(Duration.ofMillis(100)))
+                .thenReturn(Mono.just(1));
+
+        // When
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", botMessage("slow"))).verifyComplete();
+        verify(sessionRepository, timeout(1000)).appendMessages(anyList());
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", botMessage("after"))).verifyComplete();
+
+        // Then
+        verify(sessionRepository, timeout(1000).times(2)).appendMessages(anyList());
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void testShutdownFlushesPendingMessages() {
+        // Given
+        MessageWriteBehind writeBehind = writeBehind(100, 100);
+        ConversationMessage message = botMessage("pending");
+        when(sessionRepository.appendMessages(anyList())).thenReturn(Mono.just(1));
+
+        // When
+        StepVerifier.create(writeBehind.enqueue("session1", "user123", message)).verifyComplete();
+        writeBehind.shutdown();
+
+        // Then
+        verify(sessionRepository).appendMessages(List.of(new MessageAppend("session1", "user123", message)));
+        verify(sessionRepository, never()).appendMessage(any(), any(), any());
+    }
+}
@@ -0,0 +1,76 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.dto.SessionWindow;
+import com.chatbot.session.model.ArchivedSession;
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionArchiveCodecTest {
+
+    private final SessionArchiveCodec codec = new SessionArchiveCodec(new ObjectMapper().findAndRegisterModules(), 3);
+
+    @Test
+    void testArchiveAndRestoreRoundTrip() {
+        // Given
+        Session session = sessionWithMessages(7);
+        session.setStatus(Session.SessionStatus.EXPIRED);
+        session.setCurrentIntent("greeting");
+
+        // When
+        ArchivedSession archived = codec.archive(session);
+        Session restored = codec.restore(archived);
+
+        // Then
+        assertEquals(3, archived.getMessageBlocks().size());
+        assertEquals(7, archived.getMessageCount());
+        assertEquals(session.getSessionId(), restored.getSessionId());
+        assertEquals(Session.SessionStatus.EXPIRED, restored.getStatus());
+        assertEquals("greeting", restored.getCurrentIntent());
+        assertEquals(contents(session.getMessages()), contents(restored.getMessages()));
+    }
+
+    @Test
+    void testWindowInflatesOnlyOverlappingBlocks() {
+        // Given
+        ArchivedSession archived = codec.archive(sessionWithMessages(7));
+        // Blocks outside the window are never read, so corrupting them must not matter
+        archived.getMessageBlocks().get(0).setData(new byte[]{1, 2, 3});
+
+        // When
+        SessionWindow window = codec.window(archived, 6, 2);
+
+        // Then
+        assertEquals(7, window.getMessageCount());
+        assertEquals(List.of("message 4", "message 5"), contents(window.getMessages()));
+        assertEquals(4, window.getOlderCursor());
+    }
+
+    @Test
+    void testWindowOfEmptySession() {
+        // When
+        SessionWindow window = codec.window(codec.archive(sessionWithMessages(0)), null, 50);
+
+        // Then
+        assertEquals(0, window.getMessageCount());
+        assertTrue(window.getMessages().isEmpty());
+        assertNull(window.getOlderCursor());
+    }
+
+    private static Session sessionWithMessages(int count) {
+        Session session = new Session("session123", "user123");
+        for (int i = 0; i < count; i++) {
+            session.addMessage(new ConversationMessage("message " + i, ConversationMessage.MessageType.USER, "user123"));
+        }
+        return session;
+    }
+
+    private static List<String> contents(List<ConversationMessage> messages) {
+        return messages.stream().map(ConversationMessage::getContent).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.ArchivedSession;
+import com.chatbot.session.model.ConversationMessage;
+import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.ArchivedSessionRepository;
+import com.chatbot.session.repository.LeaseStore;
+import com.chatbot.session.repository.SessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionArchiverTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private ArchivedSessionRepository archivedSessionRepository;
+
+    @Mock
+    private LeaseStore leaseStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionCache sessionCache;
+    private SessionArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionCache = new SessionCache(meterRegistry, 100, Duration.ofMinutes(10));
+        SessionArchiveCodec codec = new SessionArchiveCodec(new ObjectMapper().findAndRegisterModules(), 100);
+        archiver = new SessionArchiver(sessionRepository, archivedSessionRepository, codec, sessionCache, leaseStore,
+                meterRegistry, false, Duration.ofDays(7), Duration.ofMinutes(15), 2, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testArchiveMovesColdSessionsInBatches() {
+        // Given
+        Session first = coldSession("session1");
+        Session second = coldSession("session2");
+        Session third = coldSession("session3");
+        sessionCache.put(first);
+
+        when(sessionRepository.findColdSessions(any(), any(LocalDateTime.class), eq(2)))
+                .thenReturn(Flux.just(first, second))
+                .thenReturn(Flux.just(third));
+        when(archivedSessionRepository.save(any(ArchivedSession.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(sessionRepository.deleteIfUnchanged(anyString(), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(true));
+
+        // When
+        StepVerifier.create(archiver.archive())
+                .expectNext(3L)
+                .verifyComplete();
+
+        // Then
+        verify(archivedSessionRepository, times(3)).save(any(ArchivedSession.class));
+        verify(archivedSessionRepository, never()).deleteById(anyString());
+        assertNull(sessionCache.getIfPresent("session1", "user123"));
+        assertEquals(3.0, meterRegistry.get("session.archive.sessions").tag("outcome", "archived").counter().count());
+    }
+
+    @Test
+    void testArchiveKeepsSessionWrittenInBetween() {
+        // Given
+        Session session = coldSession("session1");
+
+        when(sessionRepository.findColdSessions(any(), any(LocalDateTime.class), eq(2)))
+                .thenReturn(Flux.just(session));
+        when(archivedSessionRepository.save(any(ArchivedSession.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(sessionRepository.deleteIfUnchanged("session1", session.getLastActivity()))
+                .thenReturn(Mono.just(false));
+        when(archivedSessionRepository.deleteById("session1"))
+                .thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(archiver.archive())
+                .expectNext(0L)
+                .verifyComplete();
+
+        // Then
+        verify(archivedSessionRepository).deleteById("session1");
+        assertEquals(1.0, meterRegistry.get("session.archive.sessions").tag("outcome", "skipped").counter().count());
+    }
+
+    @Test
+    void testArchiveSkippedWithoutLease() {
+        // Given
+        when(leaseStore.tryAcquire(eq(SessionArchiver.LEASE_NAME), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false));
+
+        // When
+        StepVerifier.create(archiver.archiveIfLeader())
+                .verifyComplete();
+
+        // Then
+        verify(sessionRepository, never()).findColdSessions(any(), any(), anyInt());
+    }
+
+    private static Session coldSession(String sessionId) {
+        Session session = new Session(sessionId, "user123");
+        session.addMessage(new ConversationMessage("hello", ConversationMessage.MessageType.USER, "user123"));
+        session.setStatus(Session.SessionStatus.EXPIRED);
+        session.setLastActivity(LocalDateTime.now().minusDays(30));
+        return session;
+    }
+}
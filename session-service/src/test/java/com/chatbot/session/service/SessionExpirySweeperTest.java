@@ -0,0 +1,93 @@
+package com.chatbot.session.service;
+
+import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.LeaseStore;
+import com.chatbot.session.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionExpirySweeperTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private LeaseStore leaseStore;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionCache sessionCache;
+    private SessionExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionCache = new SessionCache(meterRegistry, 100, Duration.ofMinutes(10));
+        sweeper = new SessionExpirySweeper(sessionRepository, sessionCache, leaseStore, mongoTemplate, meterRegistry,
+                false, Duration.ofHours(24), Duration.ofMinutes(5), 2, Duration.ofMinutes(10), Duration.ZERO);
+    }
+
+    @Test
+    void testSweepExpiresInBatches() {
+        // Given
+        Session first = new Session("session1", "user123");
+        Session second = new Session("session2", "user123");
+        Session third = new Session("session3", "user456");
+        sessionCache.put(first);
+
+        when(sessionRepository.findIdleSessionRefs(eq(Session.SessionStatus.ACTIVE), any(LocalDateTime.class), eq(2)))
+                .thenReturn(Flux.just(first, second))
+                .thenReturn(Flux.just(third));
+        when(sessionRepository.transitionIdleSessions(any(), eq(Session.SessionStatus.ACTIVE),
+                eq(Session.SessionStatus.EXPIRED), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<String>>getArgument(0).size()));
+
+        // When
+        StepVerifier.create(sweeper.sweep())
+                .expectNext(3L)
+                .verifyComplete();
+
+        // Then
+        verify(sessionRepository).transitionIdleSessions(eq(List.of("session1", "session2")), any(), any(), any());
+        verify(sessionRepository).transitionIdleSessions(eq(List.of("session3")), any(), any(), any());
+        assertNull(sessionCache.getIfPresent("session1", "user123"));
+        assertEquals(3.0, meterRegistry.get("session.expiry.expired").counter().count());
+    }
+
+    @Test
+    void testSweepSkippedWithoutLease() {
+        // Given
+        when(leaseStore.tryAcquire(eq(SessionExpirySweeper.LEASE_NAME), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false));
+
+        // When
+        StepVerifier.create(sweeper.sweepIfLeader())
+                .verifyComplete();
+
+        // Then
+        verify(sessionRepository, never()).findIdleSessionRefs(any(), any(), anyInt());
+        assertEquals(1, meterRegistry.get("session.expiry.sweep").tag("outcome", "skipped").timer().count());
+    }
+}
@@ -1,22 +1,32 @@
 package com.chatbot.session.service;
 
+import com.chatbot.session.dto.SessionSummary;
+import com.chatbot.session.dto.SessionWindow;
+import com.chatbot.session.model.ArchivedSession;
 import com.chatbot.session.model.ConversationMessage;
 import com.chatbot.session.model.Session;
+import com.chatbot.session.repository.ArchivedSessionRepository;
+import com.chatbot.session.repository.SessionCursor;
 import com.chatbot.session.repository.SessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,11 +35,25 @@ class SessionServiceTest {
     @Mock
     private SessionRepository sessionRepository;
 
+    @Mock
+    private MessageWriteBehind messageWriteBehind;
+
+    @Mock
+    private ArchivedSessionRepository archivedSessionRepository;
+
+    private SessionArchiveCodec archiveCodec;
+
+    private SessionCache sessionCache;
+
     private SessionService sessionService;
 
     @BeforeEach
     void setUp() {
-        sessionService = new SessionService(sessionRepository);
+        sessionCache = new SessionCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        archiveCodec = new SessionArchiveCodec(new ObjectMapper().findAndRegisterModules(), 2);
+        sessionService = new SessionService(sessionRepository, sessionCache, messageWriteBehind,
+                archivedSessionRepository, archiveCodec);
+        lenient().when(messageWriteBehind.awaitPending(anyString())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -38,16 +62,19 @@ class SessionServiceTest {
         String userId = "user123";
         Session savedSession = new Session("session123", userId);
         
-        when(sessionRepository.save(any(Session.class))).thenReturn(savedSession);
+        when(sessionRepository.save(any(Session.class))).thenReturn(Mono.just(savedSession));
 
         // When
-        Session result = sessionService.createSession(userId);
+        Mono<Session> result = sessionService.createSession(userId);
 
         // Then
-        assertNotNull(result);
-        assertEquals("session123", result.getSessionId());
-        assertEquals(userId, result.getUserId());
-        assertEquals(Session.SessionStatus.ACTIVE, result.getStatus());
+        StepVerifier.create(result)
+                .assertNext(session -> {
+                    assertEquals("session123", session.getSessionId());
+                    assertEquals(userId, session.getUserId());
+                    assertEquals(Session.SessionStatus.ACTIVE, session.getStatus());
+                })
+                .verifyComplete();
         
         verify(sessionRepository).save(any(Session.class));
     }
@@ -60,15 +87,18 @@ class SessionServiceTest {
         Session session = new Session(sessionId, userId);
         
         when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
-                .thenReturn(Optional.of(session));
+                .thenReturn(Mono.just(session));
 
         // When
-        Optional<Session> result = sessionService.getSession(sessionId, userId);
+        Mono<Session> result = sessionService.getSession(sessionId, userId);
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(sessionId, result.get().getSessionId());
-        assertEquals(userId, result.get().getUserId());
+        StepVerifier.create(result)
+                .assertNext(found -> {
+                    assertEquals(sessionId, found.getSessionId());
+                    assertEquals(userId, found.getUserId());
+                })
+                .verifyComplete();
     }
 
     @Test
@@ -79,14 +109,18 @@ class SessionServiceTest {
         Session session = new Session(sessionId, userId);
         
         when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
-                .thenReturn(Optional.of(session));
+                .thenReturn(Mono.just(session));
 
         // When
-        Session result = sessionService.getOrCreateSession(sessionId, userId);
+        Mono<Session> result = sessionService.getOrCreateSession(sessionId, userId);
 
         // Then
-        assertEquals(sessionId, result.getSessionId());
-        assertEquals(userId, result.getUserId());
+        StepVerifier.create(result)
+                .assertNext(found -> {
+                    assertEquals(sessionId, found.getSessionId());
+                    assertEquals(userId, found.getUserId());
+                })
+                .verifyComplete();
         verify(sessionRepository, never()).save(any(Session.class));
     }
 
@@ -98,14 +132,16 @@ class SessionServiceTest {
         Session session = new Session(sessionId, userId);
         
         when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
-                .thenReturn(Optional.empty());
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+                .thenReturn(Mono.empty());
+        when(sessionRepository.save(any(Session.class))).thenReturn(Mono.just(session));
 
         // When
-        Session result = sessionService.getOrCreateSession(sessionId, userId);
+        Mono<Session> result = sessionService.getOrCreateSession(sessionId, userId);
 
         // Then
-        assertNotNull(result);
+        StepVerifier.create(result)
+                .expectNextCount(1)
+                .verifyComplete();
         verify(sessionRepository).save(any(Session.class));
     }
 
@@ -114,22 +150,115 @@ class SessionServiceTest {
         // Given
         String sessionId = "session123";
         String userId = "user123";
-        Session session = new Session(sessionId, userId);
         ConversationMessage message = new ConversationMessage("Hello", 
                 ConversationMessage.MessageType.USER, userId);
         
+        when(sessionRepository.appendMessage(sessionId, userId, message))
+                .thenReturn(Mono.just(true));
+
+        // When
+        Mono<String> result = sessionService.addMessageToSession(sessionId, userId, message);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(sessionId)
+                .verifyComplete();
+        verify(sessionRepository, never()).findBySessionIdAndUserId(any(), any());
+        verify(sessionRepository, never()).save(any(Session.class));
+    }
+
+    @Test
+    void testAddMessageToSession_UnknownSession() {
+        // Given
+        String userId = "user123";
+        ConversationMessage message = new ConversationMessage("Hello", 
+                ConversationMessage.MessageType.USER, userId);
+        
+        when(sessionRepository.appendMessage("missing", userId, message))
+                .thenReturn(Mono.just(false));
+        when(sessionRepository.save(any(Session.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When
+        Mono<String> result = sessionService.addMessageToSession("missing", userId, message);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(sessionId -> !sessionId.equals("missing"))
+                .verifyComplete();
+        verify(sessionRepository).save(argThat(session ->
+                session.getMessages().size() == 1 && session.getMessages().get(0) == message));
+    }
+
+    @Test
+    void testGetSession_ServedFromCache() {
+        // Given
+        String sessionId = "session123";
+        String userId = "user123";
+        Session session = new Session(sessionId, userId);
+        
+        when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
+                .thenReturn(Mono.just(session));
+
+        // When
+        StepVerifier.create(sessionService.getSession(sessionId, userId)).expectNext(session).verifyComplete();
+        StepVerifier.create(sessionService.getSession(sessionId, userId)).expectNext(session).verifyComplete();
+
+        // Then
+        assertEquals(1, sessionCache.stats().hitCount());
+        assertEquals(1, sessionCache.stats().missCount());
+    }
+
+    @Test
+    void testGetSession_ConcurrentLoadsShareOneFetch() {
+        // Given
+        String sessionId = "session123";
+        String userId = "user123";
+        Session session = new Session(sessionId, userId);
+        AtomicInteger fetches = new AtomicInteger();
+        
         when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
-                .thenReturn(Optional.of(session));
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+                .thenReturn(Mono.fromCallable(() -> {
+                    fetches.incrementAndGet();
+                    return session;
+                }).delayElement(Duration.ofMillis(100)));
 
         // When
-        Session result = sessionService.addMessageToSession(sessionId, userId, message);
+        Flux<Session> result = Flux.merge(
+                sessionService.getSession(sessionId, userId),
+                sessionService.getSession(sessionId, userId),
+                sessionService.getSession(sessionId, userId));
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.getMessages().size());
-        assertEquals("Hello", result.getMessages().get(0).getContent());
-        verify(sessionRepository).save(session);
+        StepVerifier.create(result)
+                .expectNext(session, session, session)
+                .verifyComplete();
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void testAddMessageToSession_UpdatesCachedCopy() {
+        // Given
+        String sessionId = "session123";
+        String userId = "user123";
+        Session session = new Session(sessionId, userId);
+        ConversationMessage message = new ConversationMessage("Hello", 
+                ConversationMessage.MessageType.USER, userId);
+        sessionCache.put(session);
+        
+        when(sessionRepository.appendMessage(sessionId, userId, message))
+                .thenReturn(Mono.just(true));
+
+        // When
+        StepVerifier.create(sessionService.addMessageToSession(sessionId, userId, message))
+                .expectNext(sessionId)
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(sessionService.getSession(sessionId, userId))
+                .assertNext(cached -> assertEquals(1, cached.getMessages().size()))
+                .verifyComplete();
+        assertTrue(session.getMessages().isEmpty());
     }
 
     @Test
@@ -138,16 +267,164 @@ class SessionServiceTest {
         String sessionId = "session123";
         String userId = "user123";
         Session session = new Session(sessionId, userId);
+        sessionCache.put(session);
         
+        when(sessionRepository.updateStatus(sessionId, userId, Session.SessionStatus.TERMINATED))
+                .thenReturn(Mono.just(true));
         when(sessionRepository.findBySessionIdAndUserId(sessionId, userId))
-                .thenReturn(Optional.of(session));
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+                .thenReturn(Mono.empty());
+        when(archivedSessionRepository.findBySessionIdAndUserId(sessionId, userId))
+                .thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(sessionService.terminateSession(sessionId, userId))
+                .verifyComplete();
+
+        // Then
+        verify(sessionRepository).updateStatus(sessionId, userId, Session.SessionStatus.TERMINATED);
+        StepVerifier.create(sessionService.getSession(sessionId, userId))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserSessionsPagesWithCursor() {
+        // Given
+        String userId = "user123";
+        LocalDateTime lastActivity = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        SessionSummary summary = new SessionSummary("session1", Session.SessionStatus.ACTIVE,
+                lastActivity.minusHours(1), lastActivity, 3, "x".repeat(500), null);
+        SessionCursor before = new SessionCursor(lastActivity.plusDays(1), "session9");
+
+        when(sessionRepository.findSummariesByUserId(userId, before, 100))
+                .thenReturn(Flux.just(summary));
+
+        // When
+        Flux<SessionSummary> result = sessionService.getUserSessions(userId, before.encode(), 1000);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    assertEquals(121, page.getLastMessagePreview().length());
+                    assertEquals(new SessionCursor(lastActivity, "session1"), SessionCursor.decode(page.getCursor()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserSessionsRejectsMalformedCursor() {
+        // When
+        Flux<SessionSummary> result = sessionService.getUserSessions("user123", "not-a-cursor", 20);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void testGetSessionWindowSlicesCachedSession() {
+        // Given
+        Session session = new Session("session123", "user123");
+        for (int i = 0; i < 5; i++) {
+            session.addMessage(new ConversationMessage("message " + i, ConversationMessage.MessageType.USER, "user123"));
+        }
+        sessionCache.put(session);
+
+        // When
+        Mono<SessionWindow> latest = sessionService.getSessionWindow("session123", "user123", null, 2);
+        Mono<SessionWindow> oldest = sessionService.getSessionWindow("session123", "user123", 2, 2);
+
+        // Then
+        StepVerifier.create(latest)
+                .assertNext(window -> {
+                    assertEquals(5, window.getMessageCount());
+                    assertEquals(List.of("message 3", "message 4"),
+                            window.getMessages().stream().map(ConversationMessage::getContent).toList());
+                    assertEquals(3, window.getOlderCursor());
+                })
+                .verifyComplete();
+        StepVerifier.create(oldest)
+                .assertNext(window -> {
+                    assertEquals(List.of("message 0", "message 1"),
+                            window.getMessages().stream().map(ConversationMessage::getContent).toList());
+                    assertNull(window.getOlderCursor());
+                })
+                .verifyComplete();
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void testGetSessionWindowReadsOnlyWindowOnCacheMiss() {
+        // Given
+        SessionWindow window = new SessionWindow();
+        when(sessionRepository.findWindow("session123", "user123", 40, 200))
+                .thenReturn(Mono.just(window));
+
+        // When
+        Mono<SessionWindow> result = sessionService.getSessionWindow("session123", "user123", 40, 5000);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(window)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetSessionWindowRejectsNonPositiveCursor() {
+        // When
+        Mono<SessionWindow> result = sessionService.getSessionWindow("session123", "user123", 0, 20);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetSessionFallsBackToArchive() {
+        // Given
+        Session session = new Session("session123", "user123");
+        session.addMessage(new ConversationMessage("hello", ConversationMessage.MessageType.USER, "user123"));
+        ArchivedSession archived = archiveCodec.archive(session);
+        when(sessionRepository.findBySessionIdAndUserId("session123", "user123"))
+                .thenReturn(Mono.empty());
+        when(archivedSessionRepository.findBySessionIdAndUserId("session123", "user123"))
+                .thenReturn(Mono.just(archived));
+
+        // When
+        Mono<Session> result = sessionService.getSession("session123", "user123");
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(restored -> assertEquals("hello", restored.getMessages().get(0).getContent()))
+                .verifyComplete();
+        assertNull(sessionCache.getIfPresent("session123", "user123"));
+    }
+
+    @Test
+    void testGetSessionWindowFallsBackToArchive() {
+        // Given
+        Session session = new Session("session123", "user123");
+        for (int i = 0; i < 5; i++) {
+            session.addMessage(new ConversationMessage("message " + i, ConversationMessage.MessageType.USER, "user123"));
+        }
+        when(sessionRepository.findWindow("session123", "user123", null, 2))
+                .thenReturn(Mono.empty());
+        when(archivedSessionRepository.findBySessionIdAndUserId("session123", "user123"))
+                .thenReturn(Mono.just(archiveCodec.archive(session)));
 
         // When
-        sessionService.terminateSession(sessionId, userId);
+        Mono<SessionWindow> result = sessionService.getSessionWindow("session123", "user123", null, 2);
 
         // Then
-        assertEquals(Session.SessionStatus.TERMINATED, session.getStatus());
-        verify(sessionRepository).save(session);
+        StepVerifier.create(result)
+                .assertNext(window -> {
+                    assertEquals(5, window.getMessageCount());
+                    assertEquals(List.of("message 3", "message 4"),
+                            window.getMessages().stream().map(ConversationMessage::getContent).toList());
+                    assertEquals(3, window.getOlderCursor());
+                })
+                .verifyComplete();
     }
 }
@@ -0,0 +1,196 @@
+package com.chatbot.session.websocket;
+
+import com.chatbot.session.dto.ChatRequest;
+import com.chatbot.session.dto.ChatResponse;
+import com.chatbot.session.service.ChatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.WebsocketClientSpec;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatWebSocketHandlerTest {
+
+    @Mock
+    private ChatService chatService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private DisposableServer server;
+
+    @BeforeEach
+    void setUp() {
+        start(new ChatWebSocketHandler(chatService, objectMapper, Duration.ofSeconds(30), 1, 3));
+    }
+
+    private void start(ChatWebSocketHandler handler) {
+        if (server != null) {
+            server.disposeNow();
+        }
+        HandshakeWebSocketService webSocketService = new HandshakeWebSocketService();
+        server = HttpServer.create()
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder
+                        .webHandler(exchange -> webSocketService.handleRequest(exchange, handler))
+                        .build()))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    private ChatResponse response(String sessionId) {
+        return new ChatResponse(sessionId, "msg123", "Hello! How can I help you today?", "greeting",
+                0.95, Map.of(), LocalDateTime.now(), List.of());
+    }
+
+    private URI uri() {
+        return URI.create("ws://localhost:" + server.port() + "/ws/chat");
+    }
+
+    private List<String> exchange(HttpHeaders headers, String... frames) {
+        List<String> replies = new CopyOnWriteArrayList<>();
+        new ReactorNettyWebSocketClient()
+                .execute(uri(), headers, session ->
+                        Mono.when(
+                                session.send(Flux.fromArray(frames).map(session::textMessage)),
+                                session.receive()
+                                        .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                                        .map(WebSocketMessage::getPayloadAsText)
+                                        .take(frames.length)
+                                        .doOnNext(replies::add)))
+                .block(Duration.ofSeconds(5));
+        return replies;
+    }
+
+    @Test
+    void testMessagesShareBoundSession() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-User-Id", "user123");
+        when(chatService.processMessage(any(ChatRequest.class), eq("user123")))
+                .thenReturn(Mono.just(response("session123")));
+
+        // When
+        List<String> replies = exchange(headers, "{\"message\":\"Hello\"}", "{\"message\":\"Help\"}");
+
+        // Then
+        assertEquals(2, replies.size());
+        assertEquals("session123", objectMapper.readTree(replies.get(0)).get("sessionId").asText());
+        verify(chatService).processMessage(argThat(request ->
+                "Help".equals(request.getMessage()) && "session123".equals(request.getSessionId())), eq("user123"));
+    }
+
+    @Test
+    void testConcurrentFirstMessagesShareOneNewSession() {
+        // Given
+        start(new ChatWebSocketHandler(chatService, objectMapper, Duration.ofSeconds(30), 4, 3));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-User-Id", "user123");
+        when(chatService.processMessage(any(ChatRequest.class), eq("user123")))
+                .thenAnswer(invocation -> Mono.just(response("session123")).delayElement(Duration.ofMillis(100)));
+
+        // When
+        List<String> replies = exchange(headers,
+                "{\"message\":\"Hello\"}", "{\"message\":\"Help\"}", "{\"message\":\"Bye\"}");
+
+        // Then
+        assertEquals(3, replies.size());
+        verify(chatService, times(1)).processMessage(argThat(request -> request.getSessionId() == null), eq("user123"));
+        verify(chatService, times(2)).processMessage(argThat(request -> "session123".equals(request.getSessionId())), eq("user123"));
+    }
+
+    @Test
+    void testInvalidFrameGetsErrorReply() throws Exception {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-User-Id", "user123");
+
+        // When
+        List<String> replies = exchange(headers, "{\"message\":\"\"}");
+
+        // Then
+        assertEquals("Message content is required", objectMapper.readTree(replies.get(0)).get("error").asText());
+        verifyNoInteractions(chatService);
+    }
+
+    @Test
+    void testClosesConnectionWhenPingsGoUnanswered() {
+        // Given
+        start(new ChatWebSocketHandler(chatService, objectMapper, Duration.ofMillis(50), 1, 2));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-User-Id", "user123");
+        // Forwarding pings to the handler stops the client from answering them
+        ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient(HttpClient.create(),
+                () -> WebsocketClientSpec.builder().handlePing(true));
+        AtomicLong pings = new AtomicLong();
+
+        // When
+        client.execute(uri(), headers, session -> session.receive()
+                        .filter(message -> message.getType() == WebSocketMessage.Type.PING)
+                        .count()
+                        .doOnNext(pings::set)
+                        .then())
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(2, pings.get());
+    }
+
+    @Test
+    void testAnsweredPingsKeepConnectionOpen() throws Exception {
+        // Given
+        start(new ChatWebSocketHandler(chatService, objectMapper, Duration.ofMillis(50), 1, 2));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-User-Id", "user123");
+        when(chatService.processMessage(any(ChatRequest.class), eq("user123")))
+                .thenReturn(Mono.just(response("session123")));
+        List<String> replies = new CopyOnWriteArrayList<>();
+
+        // When
+        new ReactorNettyWebSocketClient()
+                .execute(uri(), headers, session -> Mono.when(
+                        session.send(Mono.delay(Duration.ofMillis(400))
+                                .map(tick -> session.textMessage("{\"message\":\"Hello\"}"))),
+                        session.receive()
+                                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                                .map(WebSocketMessage::getPayloadAsText)
+                                .take(1)
+                                .doOnNext(replies::add)))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(1, replies.size());
+        assertEquals("session123", objectMapper.readTree(replies.get(0)).get("sessionId").asText());
+    }
+}